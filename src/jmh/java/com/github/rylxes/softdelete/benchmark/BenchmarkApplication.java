@@ -0,0 +1,10 @@
+package com.github.rylxes.softdelete.benchmark;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Minimal application the benchmarks boot against embedded H2.
+ */
+@SpringBootApplication
+public class BenchmarkApplication {
+}
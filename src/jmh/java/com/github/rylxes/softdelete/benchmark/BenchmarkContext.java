@@ -0,0 +1,104 @@
+package com.github.rylxes.softdelete.benchmark;
+
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Boots {@link BenchmarkApplication} once per trial and seeds both tables
+ * with the same number of rows; every tenth soft-deletable row is trashed.
+ * <p>
+ * {@code filterInterceptor=false} sets {@code softdelete.filter-interceptor=false},
+ * so comparing the two settings isolates what enabling the filter on the
+ * repository proxy adds to each repository call.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkContext {
+
+    @Param({"10000"})
+    public int rows;
+
+    @Param({"true", "false"})
+    public boolean filterInterceptor;
+
+    ConfigurableApplicationContext context;
+    BenchmarkEntityRepository softDeleteRepository;
+    PlainEntityRepository plainRepository;
+    EntityManager entityManager;
+    TransactionTemplate transactionTemplate;
+    JdbcTemplate jdbcTemplate;
+
+    private final List<Long> liveIds = new ArrayList<>();
+    private final List<Long> plainIds = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(BenchmarkApplication.class).run(
+                "--spring.datasource.url=jdbc:h2:mem:softdelete-bench;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--softdelete.filter-interceptor=" + filterInterceptor,
+                "--logging.level.root=WARN");
+
+        softDeleteRepository = context.getBean(BenchmarkEntityRepository.class);
+        plainRepository = context.getBean(PlainEntityRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        Timestamp trashedAt = Timestamp.from(Instant.now());
+        List<Object[]> softRows = new ArrayList<>();
+        List<Object[]> plainRows = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            boolean trashed = i % 10 == 0;
+            softRows.add(new Object[] { (trashed ? "trashed-" : "row-") + i, trashed ? trashedAt : null });
+            plainRows.add(new Object[] { "row-" + i });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bench_entity (name, deleted_at) VALUES (?, ?)", softRows);
+        jdbcTemplate.batchUpdate("INSERT INTO plain_entity (name) VALUES (?)", plainRows);
+
+        liveIds.addAll(jdbcTemplate.queryForList(
+                "SELECT id FROM bench_entity WHERE deleted_at IS NULL ORDER BY id", Long.class));
+        plainIds.addAll(jdbcTemplate.queryForList("SELECT id FROM plain_entity ORDER BY id", Long.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    Long randomLiveId() {
+        return liveIds.get(ThreadLocalRandom.current().nextInt(liveIds.size()));
+    }
+
+    Long randomPlainId() {
+        return plainIds.get(ThreadLocalRandom.current().nextInt(plainIds.size()));
+    }
+
+    int randomPage(int pageSize) {
+        return ThreadLocalRandom.current().nextInt(Math.max(1, liveIds.size() / pageSize));
+    }
+
+    /**
+     * Clear every soft delete made during a benchmark, keeping the seeded
+     * trashed rows trashed.
+     */
+    void resetSoftDeletes() {
+        jdbcTemplate.update("UPDATE bench_entity SET deleted_at = NULL WHERE name NOT LIKE 'trashed-%'");
+    }
+}
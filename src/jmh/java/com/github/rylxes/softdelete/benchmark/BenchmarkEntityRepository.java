@@ -0,0 +1,6 @@
+package com.github.rylxes.softdelete.benchmark;
+
+import com.github.rylxes.softdelete.SoftDeleteRepository;
+
+public interface BenchmarkEntityRepository extends SoftDeleteRepository<BenchmarkEntity, Long> {
+}
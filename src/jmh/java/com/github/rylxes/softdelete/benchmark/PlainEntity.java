@@ -0,0 +1,33 @@
+package com.github.rylxes.softdelete.benchmark;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Same shape as {@link BenchmarkEntity} without soft-delete support; served
+ * by a plain {@code SimpleJpaRepository} as the baseline.
+ */
+@Entity
+@Table(name = "plain_entity")
+public class PlainEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String name;
+
+    protected PlainEntity() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,6 @@
+package com.github.rylxes.softdelete.benchmark;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PlainEntityRepository extends JpaRepository<PlainEntity, Long> {
+}
@@ -0,0 +1,139 @@
+package com.github.rylxes.softdelete.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot paths of {@code SoftDeleteRepositoryImpl} next to the same calls on a
+ * plain {@code SimpleJpaRepository}.
+ * <p>
+ * Run with {@code ./mvnw -Pbenchmark test-compile exec:exec}; results are
+ * written as JSON to {@code target/jmh-result.json}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SoftDeleteRepositoryBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    // ── Lookups ────────────────────────────────────────────────
+
+    @Benchmark
+    public Optional<BenchmarkEntity> findById(BenchmarkContext ctx) {
+        return ctx.softDeleteRepository.findById(ctx.randomLiveId());
+    }
+
+    @Benchmark
+    public Optional<PlainEntity> plainFindById(BenchmarkContext ctx) {
+        return ctx.plainRepository.findById(ctx.randomPlainId());
+    }
+
+    /**
+     * Baseline for the precompiled named queries: the JPQL string is built
+     * and resolved on every call, as {@code findById} used to do.
+     */
+    @Benchmark
+    public List<BenchmarkEntity> adHocJpqlFindById(BenchmarkContext ctx) {
+        Long id = ctx.randomLiveId();
+        return ctx.transactionTemplate.execute(status -> ctx.entityManager
+                .createQuery("SELECT e FROM " + BenchmarkEntity.class.getSimpleName()
+                        + " e WHERE e.id = :id", BenchmarkEntity.class)
+                .setParameter("id", id)
+                .getResultList());
+    }
+
+    @Benchmark
+    public boolean existsById(BenchmarkContext ctx) {
+        return ctx.softDeleteRepository.existsById(ctx.randomLiveId());
+    }
+
+    @Benchmark
+    public Page<BenchmarkEntity> findAllPage(BenchmarkContext ctx) {
+        return ctx.softDeleteRepository.findAll(PageRequest.of(ctx.randomPage(PAGE_SIZE), PAGE_SIZE));
+    }
+
+    @Benchmark
+    public Page<PlainEntity> plainFindAllPage(BenchmarkContext ctx) {
+        return ctx.plainRepository.findAll(PageRequest.of(ctx.randomPage(PAGE_SIZE), PAGE_SIZE));
+    }
+
+    // ── Trashed scopes ─────────────────────────────────────────
+
+    @Benchmark
+    public List<BenchmarkEntity> findAllTrashed(BenchmarkContext ctx) {
+        return ctx.softDeleteRepository.findAllTrashed();
+    }
+
+    @Benchmark
+    public long countTrashed(BenchmarkContext ctx) {
+        return ctx.softDeleteRepository.countTrashed();
+    }
+
+    @Benchmark
+    public long plainCount(BenchmarkContext ctx) {
+        return ctx.plainRepository.count();
+    }
+
+    // ── Mutations ──────────────────────────────────────────────
+
+    /**
+     * Soft delete followed by restore of a detached copy, so the table is
+     * left unchanged after every invocation.
+     */
+    @Benchmark
+    public void softDeleteAndRestore(BenchmarkContext ctx) {
+        BenchmarkEntity entity = ctx.softDeleteRepository.findById(ctx.randomLiveId()).orElseThrow();
+        ctx.softDeleteRepository.softDelete(entity);
+        ctx.softDeleteRepository.restore(entity);
+    }
+
+    @Benchmark
+    public boolean softDeleteByIdAndRestoreById(BenchmarkContext ctx) {
+        Long id = ctx.randomLiveId();
+        ctx.softDeleteRepository.softDeleteById(id);
+        return ctx.softDeleteRepository.restoreById(id);
+    }
+
+    /**
+     * Set-based {@code deleteAll()} over every live row. Timed as a single
+     * shot because the table has to be reset between invocations.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    public void deleteAll(DeleteAllState state) {
+        state.ctx.softDeleteRepository.deleteAll();
+    }
+
+    @State(Scope.Thread)
+    public static class DeleteAllState {
+
+        BenchmarkContext ctx;
+
+        @Setup(Level.Invocation)
+        public void reset(BenchmarkContext ctx) {
+            this.ctx = ctx;
+            ctx.resetSoftDeletes();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.github.rylxes.softdelete;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.Status;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps instances already managed by the current session in step with
+ * set-based {@code UPDATE} statements, which bypass the persistence context.
+ * <p>
+ * Either both the entity and Hibernate's loaded-state snapshot are updated,
+ * so the change is visible to the caller without being flushed back as
+ * dirty, or the instances are evicted so that they are loaded afresh.
+ */
+final class ManagedEntities {
+
+    private ManagedEntities() {
+    }
+
+    /**
+     * Apply {@code deletedAt} to managed instances of {@code domainType}.
+     * <p>
+     * When {@code deletedAt} is non-null (a soft delete) instances that are
+     * already trashed keep their original timestamp, mirroring the
+     * {@code IS NULL} guard of the bulk statement.
+     *
+     * @param ids the affected ids, or {@code null} for every instance of the type
+     */
+    static void syncDeletedAt(EntityManager entityManager, Class<?> domainType, String attribute,
+            Collection<?> ids, Instant deletedAt) {
+
+        PersistenceContext persistenceContext = entityManager.unwrap(SessionImplementor.class)
+                .getPersistenceContextInternal();
+        if (persistenceContext.getNumberOfManagedEntities() == 0) {
+            return;
+        }
+
+        Set<?> idSet = ids == null || ids instanceof Set ? (Set<?>) ids : new HashSet<>(ids);
+        for (Map.Entry<Object, EntityEntry> managed : persistenceContext.reentrantSafeEntityEntries()) {
+            Object entity = managed.getKey();
+            EntityEntry entry = managed.getValue();
+            if (!domainType.isInstance(entity) || entry.getStatus() != Status.MANAGED) {
+                continue;
+            }
+            if (idSet != null && !idSet.contains(entry.getId())) {
+                continue;
+            }
+
+            SoftDeletable softDeletable = (SoftDeletable) entity;
+            if (deletedAt != null && softDeletable.isDeleted()) {
+                continue;
+            }
+            softDeletable.setDeletedAt(deletedAt);
+
+            Object[] loadedState = entry.getLoadedState();
+            Integer index = entry.getPersister().getEntityMetamodel().getPropertyIndexOrNull(attribute);
+            if (loadedState != null && index != null) {
+                loadedState[index] = deletedAt;
+            }
+        }
+    }
+
+    /**
+     * Apply a version incremented by an {@code UPDATE VERSIONED} statement
+     * to the managed instance of {@code id}, if any, so that it can still be
+     * flushed.
+     */
+    static void syncVersion(EntityManager entityManager, Class<?> domainType, Object id, Object version) {
+        PersistenceContext persistenceContext = entityManager.unwrap(SessionImplementor.class)
+                .getPersistenceContextInternal();
+        if (persistenceContext.getNumberOfManagedEntities() == 0) {
+            return;
+        }
+
+        for (Map.Entry<Object, EntityEntry> managed : persistenceContext.reentrantSafeEntityEntries()) {
+            EntityEntry entry = managed.getValue();
+            if (!domainType.isInstance(managed.getKey()) || entry.getStatus() != Status.MANAGED
+                    || !id.equals(entry.getId())) {
+                continue;
+            }
+            Object[] loadedState = entry.getLoadedState();
+            if (loadedState != null) {
+                loadedState[entry.getPersister().getVersionProperty()] = version;
+            }
+            entry.postUpdate(managed.getKey(), loadedState, version);
+        }
+    }
+
+    /**
+     * Detach managed instances of {@code domainType}.
+     *
+     * @param ids the affected ids, or {@code null} for every instance of the type
+     */
+    static void evict(EntityManager entityManager, Class<?> domainType, Collection<?> ids) {
+        PersistenceContext persistenceContext = entityManager.unwrap(SessionImplementor.class)
+                .getPersistenceContextInternal();
+        if (persistenceContext.getNumberOfManagedEntities() == 0) {
+            return;
+        }
+
+        Set<?> idSet = ids == null || ids instanceof Set ? (Set<?>) ids : new HashSet<>(ids);
+        List<Object> evicted = new ArrayList<>();
+        for (Map.Entry<Object, EntityEntry> managed : persistenceContext.reentrantSafeEntityEntries()) {
+            if (domainType.isInstance(managed.getKey())
+                    && (idSet == null || idSet.contains(managed.getValue().getId()))) {
+                evicted.add(managed.getKey());
+            }
+        }
+        evicted.forEach(entityManager::detach);
+    }
+}
@@ -23,7 +23,9 @@ import java.time.Instant;
  * <p>
  * The default column name is {@code deleted_at}. Override it per-entity
  * with {@link SoftDeleteColumn @SoftDeleteColumn("custom_col")} or
- * globally via {@code softdelete.column-name} in your properties.
+ * globally via {@code softdelete.column-name} in your properties;
+ * {@link SoftDeleteIntegrator} applies the effective name to the column
+ * and to this entity's filter condition at bootstrap.
  * <p>
  * When the Hibernate filter is enabled (done automatically by the
  * auto-configuration), all standard queries will exclude rows where
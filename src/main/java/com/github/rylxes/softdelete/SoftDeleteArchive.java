@@ -0,0 +1,265 @@
+package com.github.rylxes.softdelete;
+
+import org.hibernate.Session;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.SQLServerDialect;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The archive table of one entity and the native SQL that moves rows in
+ * and out of it.
+ * <p>
+ * The archive table has the same columns as the entity table and a unique
+ * index on the id column. Statements are built once; the table itself is
+ * created (or validated) before the first rows are archived, on a
+ * connection of its own, so the DDL is neither rolled back with nor
+ * committed into the caller's transaction. Reads never create it.
+ */
+final class SoftDeleteArchive {
+
+    private final SoftDeleteMetadata metadata;
+    private final String table;
+    private final boolean createTable;
+
+    private final String archiveByIds;
+    private final String deleteArchivedLive;
+    private final String findById;
+    private final String restoreById;
+    private final String deleteById;
+
+    private volatile boolean prepared;
+
+    SoftDeleteArchive(SoftDeleteMetadata metadata, String tableSuffix, boolean createTable) {
+        this.metadata = metadata;
+        this.table = archiveTableName(metadata.table(), tableSuffix);
+        this.createTable = createTable;
+
+        String columns = String.join(", ", metadata.columns());
+        String restoredColumns = String.join(", ", metadata.columns().stream()
+                .map(column -> column.equals(metadata.column()) ? "NULL" : column)
+                .toList());
+        String id = metadata.idColumn();
+
+        this.archiveByIds = "INSERT INTO " + table + " (" + columns + ") SELECT " + columns + " FROM "
+                + metadata.table() + " WHERE " + id + " IN (:ids) AND " + metadata.column() + " < :cutoff";
+        this.deleteArchivedLive = "DELETE FROM " + table + " WHERE " + id + " IN (:ids) AND " + id
+                + " IN (SELECT " + id + " FROM " + metadata.table() + ")";
+        this.findById = "SELECT " + columns + " FROM " + table + " WHERE " + id + " = :id";
+        this.restoreById = "INSERT INTO " + metadata.table() + " (" + columns + ") SELECT " + restoredColumns
+                + " FROM " + table + " WHERE " + id + " = :id";
+        this.deleteById = "DELETE FROM " + table + " WHERE " + id + " = :id";
+    }
+
+    /**
+     * Returns the archive table name, quoted like the entity table.
+     */
+    String table() {
+        return table;
+    }
+
+    /**
+     * Copies the given trashed ids that are still past the cutoff;
+     * parameters {@code ids} and {@code cutoff}.
+     */
+    String archiveByIds() {
+        return archiveByIds;
+    }
+
+    /**
+     * Removes archived copies of ids that are still present in the entity
+     * table (restored between copy and delete); parameter {@code ids}.
+     */
+    String deleteArchivedLive() {
+        return deleteArchivedLive;
+    }
+
+    String findById() {
+        return findById;
+    }
+
+    /**
+     * Copies an archived row back with the soft-delete column cleared;
+     * parameter {@code id}.
+     */
+    String restoreById() {
+        return restoreById;
+    }
+
+    String deleteById() {
+        return deleteById;
+    }
+
+    /**
+     * Create the archive table if it is missing, or check that it has every
+     * column of the entity table and a unique key on the id column alone. Runs on
+     * a separate auto-commit connection, once it has succeeded.
+     *
+     * @throws IllegalStateException if the table is missing and may not be
+     *                               created, lacks columns or lacks the key
+     */
+    void prepare(SessionFactoryImplementor sessionFactory) {
+        if (prepared) {
+            return;
+        }
+        synchronized (this) {
+            if (prepared) {
+                return;
+            }
+            Dialect dialect = sessionFactory.getJdbcServices().getDialect();
+            ConnectionProvider connections = sessionFactory.getServiceRegistry().getService(ConnectionProvider.class);
+            try {
+                Connection connection = connections.getConnection();
+                try {
+                    boolean autoCommit = connection.getAutoCommit();
+                    connection.setAutoCommit(true);
+                    try {
+                        prepare(connection, dialect);
+                    } finally {
+                        connection.setAutoCommit(autoCommit);
+                    }
+                } finally {
+                    connections.closeConnection(connection);
+                }
+            } catch (SQLException e) {
+                throw sessionFactory.getJdbcServices().getSqlExceptionHelper()
+                        .convert(e, "Could not prepare archive table " + table);
+            }
+            prepared = true;
+        }
+    }
+
+    /**
+     * Whether the archive table exists, checked on the session's connection
+     * without creating it.
+     */
+    boolean exists(Session session) {
+        return prepared || session.doReturningWork(connection -> !archiveColumns(connection.getMetaData()).isEmpty());
+    }
+
+    private void prepare(Connection connection, Dialect dialect) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        Set<String> existing = archiveColumns(metaData);
+        if (existing.isEmpty()) {
+            if (!createTable) {
+                throw new IllegalStateException("Archive table " + table + " for " + metadata.entityName()
+                        + " does not exist");
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(createTableSql(dialect));
+                statement.execute("CREATE UNIQUE INDEX " + unquote(table.substring(table.lastIndexOf('.') + 1))
+                        + "_id ON " + table + " (" + metadata.idColumn() + ")");
+            }
+            return;
+        }
+
+        List<String> missing = new ArrayList<>();
+        for (String column : metadata.columns()) {
+            if (!existing.contains(unquote(column).toLowerCase(Locale.ROOT))) {
+                missing.add(column);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Archive table " + table + " for " + metadata.entityName()
+                    + " is missing columns " + missing);
+        }
+        if (!hasUniqueId(metaData)) {
+            throw new IllegalStateException("Archive table " + table + " for " + metadata.entityName()
+                    + " has no primary key or unique index on " + metadata.idColumn() + " alone");
+        }
+    }
+
+    /**
+     * Whether the primary key, or a unique index, of the archive table
+     * consists of the id column alone.
+     */
+    private boolean hasUniqueId(DatabaseMetaData metaData) throws SQLException {
+        String[] name = storedName(metaData);
+        String id = unquote(metadata.idColumn()).toLowerCase(Locale.ROOT);
+
+        Map<String, List<String>> keys = new HashMap<>();
+        try (ResultSet resultSet = metaData.getPrimaryKeys(null, name[0], name[1])) {
+            while (resultSet.next()) {
+                keys.computeIfAbsent("", key -> new ArrayList<>())
+                        .add(resultSet.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+            }
+        }
+        try (ResultSet resultSet = metaData.getIndexInfo(null, name[0], name[1], true, false)) {
+            while (resultSet.next()) {
+                String column = resultSet.getString("COLUMN_NAME");
+                if (column != null) {
+                    keys.computeIfAbsent("index:" + resultSet.getString("INDEX_NAME"), key -> new ArrayList<>())
+                            .add(column.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return keys.values().stream().anyMatch(columns -> columns.equals(List.of(id)));
+    }
+
+    private String createTableSql(Dialect dialect) {
+        String columns = String.join(", ", metadata.columns());
+        if (dialect instanceof SQLServerDialect) {
+            return "SELECT " + columns + " INTO " + table + " FROM " + metadata.table() + " WHERE 1 = 0";
+        }
+        return "CREATE TABLE " + table + " AS SELECT " + columns + " FROM " + metadata.table() + " WHERE 1 = 0";
+    }
+
+    private Set<String> archiveColumns(DatabaseMetaData metaData) throws SQLException {
+        String[] name = storedName(metaData);
+        Set<String> columns = new TreeSet<>();
+        try (ResultSet resultSet = metaData.getColumns(null, name[0], name[1], null)) {
+            while (resultSet.next()) {
+                columns.add(resultSet.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Returns the schema (or {@code null}) and name of the archive table,
+     * in the case the database stores them.
+     */
+    private String[] storedName(DatabaseMetaData metaData) throws SQLException {
+        int dot = table.lastIndexOf('.');
+        String schema = dot < 0 ? null : storedCase(metaData, unquote(table.substring(0, dot)));
+        return new String[] { schema, storedCase(metaData, unquote(table.substring(dot + 1))) };
+    }
+
+    private static String archiveTableName(String table, String suffix) {
+        char last = table.charAt(table.length() - 1);
+        if (last == '"' || last == '`' || last == ']') {
+            return table.substring(0, table.length() - 1) + suffix + last;
+        }
+        return table + suffix;
+    }
+
+    private static String storedCase(DatabaseMetaData metaData, String identifier) throws SQLException {
+        if (metaData.storesUpperCaseIdentifiers()) {
+            return identifier.toUpperCase(Locale.ROOT);
+        }
+        if (metaData.storesLowerCaseIdentifiers()) {
+            return identifier.toLowerCase(Locale.ROOT);
+        }
+        return identifier;
+    }
+
+    private static String unquote(String identifier) {
+        if (identifier.length() > 1 && "`\"[".indexOf(identifier.charAt(0)) >= 0) {
+            return identifier.substring(1, identifier.length() - 1);
+        }
+        return identifier;
+    }
+}
@@ -0,0 +1,32 @@
+package com.github.rylxes.softdelete;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Cascade soft deletes and restores along an association.
+ * <p>
+ * Place it on the inverse side ({@code mappedBy}) of a {@code @OneToMany}
+ * or {@code @OneToOne} association whose target is soft-deletable:
+ *
+ * <pre>
+ * {@literal @}SoftDeleteCascade
+ * {@literal @}OneToMany(mappedBy = "post")
+ * private List&lt;Comment&gt; comments;
+ * </pre>
+ *
+ * Every soft delete and restore of the parent, single-row or bulk
+ * ({@code deleteAll}, {@code softDeleteAll*}, {@code restoreAll*}), then
+ * updates the children with one set-based
+ * {@code UPDATE ... WHERE post_id IN (...)} per level, using the parent's
+ * timestamp; the children are never loaded. A restore only revives children
+ * that were deleted together with their parent.
+ */
+@Target({ ElementType.FIELD, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SoftDeleteCascade {
+}
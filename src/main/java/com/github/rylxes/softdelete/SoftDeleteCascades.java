@@ -0,0 +1,192 @@
+package com.github.rylxes.softdelete;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * The {@link SoftDeleteCascade} graph below one entity, with the queries
+ * for every edge registered as named queries when the repository is
+ * created.
+ * <p>
+ * Each level is handled with one id projection and one set-based
+ * {@code UPDATE} per chunk of parent ids; children are never loaded.
+ * Self-referencing and cyclic associations are supported: a level only
+ * touches rows not yet in the target state, so the walk ends when a level
+ * matches nothing.
+ */
+final class SoftDeleteCascades {
+
+    private final List<Edge> edges;
+
+    private SoftDeleteCascades(List<Edge> edges) {
+        this.edges = edges;
+    }
+
+    /**
+     * Build the cascade graph of {@code root} and register its queries.
+     */
+    static SoftDeleteCascades register(EntityManagerFactory entityManagerFactory, SoftDeleteRegistry registry,
+            SoftDeleteMetadata root) {
+
+        if (root.cascades().isEmpty()) {
+            return new SoftDeleteCascades(List.of());
+        }
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            SoftDeleteQueries.Registrar registrar =
+                    new SoftDeleteQueries.Registrar(entityManagerFactory, entityManager);
+            return new SoftDeleteCascades(edges(root, registry, registrar, new HashMap<>()));
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private static List<Edge> edges(SoftDeleteMetadata parent, SoftDeleteRegistry registry,
+            SoftDeleteQueries.Registrar registrar, Map<SoftDeleteMetadata.Cascade, Edge> built) {
+
+        List<Edge> edges = new ArrayList<>();
+        for (SoftDeleteMetadata.Cascade cascade : parent.cascades()) {
+            Edge edge = built.get(cascade);
+            if (edge == null) {
+                SoftDeleteMetadata child = registry.get(cascade.childType());
+                edge = Edge.register(parent, cascade, child, registrar);
+                built.put(cascade, edge);
+                edge.children.addAll(edges(child, registry, registrar, built));
+            }
+            edges.add(edge);
+        }
+        return edges;
+    }
+
+    boolean isEmpty() {
+        return edges.isEmpty();
+    }
+
+    /**
+     * Stamp {@code deletedAt} on the live descendants of the given parents.
+     *
+     * @param affected receives the ids soft-deleted at each level
+     */
+    void softDelete(EntityManager entityManager, List<?> parentIds, Instant deletedAt, int batchSize,
+            BiConsumer<SoftDeleteMetadata, List<?>> affected) {
+        for (Edge edge : edges) {
+            edge.softDelete(entityManager, parentIds, deletedAt, batchSize, affected);
+        }
+    }
+
+    /**
+     * Restore the descendants of the given parents that were soft-deleted
+     * at {@code deletedAt}, i.e. together with them.
+     *
+     * @param affected receives the ids restored at each level
+     */
+    void restore(EntityManager entityManager, List<?> parentIds, Instant deletedAt, int batchSize,
+            BiConsumer<SoftDeleteMetadata, List<?>> affected) {
+        for (Edge edge : edges) {
+            edge.restore(entityManager, parentIds, deletedAt, batchSize, affected);
+        }
+    }
+
+    private static final class Edge {
+
+        private final SoftDeleteMetadata child;
+        private final String liveIds;
+        private final String softDelete;
+        private final String deletedIds;
+        private final String restore;
+        private final List<Edge> children = new ArrayList<>();
+
+        private Edge(SoftDeleteMetadata child, String prefix) {
+            this.child = child;
+            this.liveIds = prefix + "liveIds";
+            this.softDelete = prefix + "softDelete";
+            this.deletedIds = prefix + "deletedIds";
+            this.restore = prefix + "restore";
+        }
+
+        static Edge register(SoftDeleteMetadata parent, SoftDeleteMetadata.Cascade cascade,
+                SoftDeleteMetadata child, SoftDeleteQueries.Registrar registrar) {
+
+            Edge edge = new Edge(child,
+                    "SoftDelete." + parent.entityName() + ".cascade." + cascade.attribute() + ".");
+            String entity = child.entityName() + " e";
+            String id = "e." + child.idAttribute();
+            String deletedAt = "e." + child.attribute();
+            String parentId = "e." + cascade.mappedBy() + "." + parent.idAttribute();
+
+            registrar.add(edge.liveIds,
+                    "SELECT " + id + " FROM " + entity + " WHERE " + parentId + " IN :ids AND " + deletedAt
+                            + " IS NULL");
+            registrar.add(edge.softDelete,
+                    "UPDATE " + entity + " SET " + deletedAt + " = :deletedAt WHERE " + parentId
+                            + " IN :ids AND " + deletedAt + " IS NULL");
+            registrar.add(edge.deletedIds,
+                    "SELECT " + id + " FROM " + entity + " WHERE " + parentId + " IN :ids AND " + deletedAt
+                            + " = :deletedAt");
+            registrar.add(edge.restore,
+                    "UPDATE " + entity + " SET " + deletedAt + " = NULL WHERE " + parentId
+                            + " IN :ids AND " + deletedAt + " = :deletedAt");
+            return edge;
+        }
+
+        void softDelete(EntityManager entityManager, List<?> parentIds, Instant deletedAt, int batchSize,
+                BiConsumer<SoftDeleteMetadata, List<?>> affected) {
+            List<Object> childIds = new ArrayList<>();
+            for (List<?> chunk : chunks(parentIds, batchSize)) {
+                childIds.addAll(entityManager.createNamedQuery(liveIds, Object.class)
+                        .setParameter("ids", chunk)
+                        .getResultList());
+                entityManager.createNamedQuery(softDelete)
+                        .setParameter("ids", chunk)
+                        .setParameter("deletedAt", deletedAt)
+                        .executeUpdate();
+            }
+            if (childIds.isEmpty()) {
+                return;
+            }
+            ManagedEntities.syncDeletedAt(entityManager, child.javaType(), child.attribute(), childIds, deletedAt);
+            affected.accept(child, childIds);
+            for (Edge edge : children) {
+                edge.softDelete(entityManager, childIds, deletedAt, batchSize, affected);
+            }
+        }
+
+        void restore(EntityManager entityManager, List<?> parentIds, Instant deletedAt, int batchSize,
+                BiConsumer<SoftDeleteMetadata, List<?>> affected) {
+            List<Object> childIds = new ArrayList<>();
+            for (List<?> chunk : chunks(parentIds, batchSize)) {
+                childIds.addAll(entityManager.createNamedQuery(deletedIds, Object.class)
+                        .setParameter("ids", chunk)
+                        .setParameter("deletedAt", deletedAt)
+                        .getResultList());
+                entityManager.createNamedQuery(restore)
+                        .setParameter("ids", chunk)
+                        .setParameter("deletedAt", deletedAt)
+                        .executeUpdate();
+            }
+            if (childIds.isEmpty()) {
+                return;
+            }
+            ManagedEntities.syncDeletedAt(entityManager, child.javaType(), child.attribute(), childIds, null);
+            affected.accept(child, childIds);
+            for (Edge edge : children) {
+                edge.restore(entityManager, childIds, deletedAt, batchSize, affected);
+            }
+        }
+
+        private static List<List<?>> chunks(List<?> ids, int batchSize) {
+            List<List<?>> chunks = new ArrayList<>();
+            for (int from = 0; from < ids.size(); from += batchSize) {
+                chunks.add(ids.subList(from, Math.min(from + batchSize, ids.size())));
+            }
+            return chunks;
+        }
+    }
+}
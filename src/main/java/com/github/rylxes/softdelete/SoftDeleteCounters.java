@@ -0,0 +1,199 @@
+package com.github.rylxes.softdelete;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cached live and trashed row counts of the soft-deletable entities of one
+ * session factory.
+ * <p>
+ * A counter is seeded from the database on first read, then adjusted in
+ * memory by the repository operations that change its counts. Adjustments
+ * are collected per transaction and applied only after it commits, so
+ * rolled-back work never skews a counter. A transaction announces itself
+ * before it commits, and a counter is not seeded while such a commit is
+ * under way, so a count that already includes its rows is never adjusted
+ * for them again. Changes made outside the repositories, or outside a
+ * transaction with synchronization, are picked up when the counter expires
+ * and is re-seeded, every {@code softdelete.counters.reconcile-interval}.
+ */
+final class SoftDeleteCounters {
+
+    private final Map<Class<?>, Counter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the counter of the given entity, creating it if needed.
+     */
+    Counter register(Class<?> javaType, Duration reconcileInterval) {
+        return counters.computeIfAbsent(javaType, type -> new Counter(reconcileInterval));
+    }
+
+    /**
+     * Returns the counter of the given entity, or {@code null} if counters
+     * are not enabled for it.
+     */
+    Counter get(Class<?> javaType) {
+        return counters.get(javaType);
+    }
+
+    /**
+     * Adjust a counter once the current transaction commits, or right away
+     * when there is no transaction.
+     */
+    void adjust(Counter counter, long live, long trashed) {
+        if (counter == null || (live == 0 && trashed == 0)) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            counter.adjust(live, trashed);
+            return;
+        }
+        Pending pending = pending();
+        if (pending == null) {
+            pending = new Pending();
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.add(counter, live, trashed);
+    }
+
+    /**
+     * Returns {@code true} if the current transaction has uncommitted
+     * adjustments for the counter, which a cached read would not reflect.
+     */
+    boolean hasPending(Counter counter) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        Pending pending = pending();
+        return pending != null && pending.deltas.containsKey(counter);
+    }
+
+    // Looked up among the synchronizations rather than bound as a resource,
+    // so that a suspended outer transaction keeps its own adjustments.
+    private Pending pending() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof Pending pending && pending.owner() == this) {
+                return pending;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The cached counts of one entity.
+     */
+    static final class Counter {
+
+        private final long reconcileIntervalNanos;
+        private long live;
+        private long trashed;
+        private long seededAt;
+        private boolean seeded;
+        private long version;
+        private int committing;
+
+        private Counter(Duration reconcileInterval) {
+            this.reconcileIntervalNanos = reconcileInterval.toNanos();
+        }
+
+        /**
+         * Returns the cached counts, or {@code null} if the counter has not
+         * been seeded or is due for reconciliation.
+         */
+        synchronized SoftDeleteStats get() {
+            if (!seeded || System.nanoTime() - seededAt >= reconcileIntervalNanos) {
+                return null;
+            }
+            return new SoftDeleteStats(live, trashed);
+        }
+
+        /**
+         * Returns the version to pass to {@link #seed} after counting.
+         */
+        synchronized long version() {
+            return version;
+        }
+
+        /**
+         * Seed the counter with freshly counted values, unless a transaction
+         * with adjustments started committing while they were counted, or is
+         * still committing: its rows may or may not be included, so the
+         * counter stays cold until the next read.
+         */
+        synchronized void seed(SoftDeleteStats stats, long countedAtVersion) {
+            if (version != countedAtVersion || committing > 0) {
+                return;
+            }
+            live = stats.live();
+            trashed = stats.trashed();
+            seededAt = System.nanoTime();
+            seeded = true;
+        }
+
+        synchronized void adjust(long live, long trashed) {
+            version++;
+            this.live += live;
+            this.trashed += trashed;
+        }
+
+        /**
+         * Announce a transaction with adjustments for this counter as
+         * committing.
+         */
+        synchronized void beginCommit() {
+            version++;
+            committing++;
+        }
+
+        /**
+         * End a commit announced by {@link #beginCommit}, applying its
+         * adjustments if it succeeded.
+         */
+        synchronized void endCommit(long live, long trashed, boolean committed) {
+            committing--;
+            if (committed) {
+                adjust(live, trashed);
+            }
+        }
+    }
+
+    /**
+     * The adjustments of one transaction.
+     */
+    private final class Pending implements TransactionSynchronization {
+
+        private final Map<Counter, long[]> deltas = new HashMap<>();
+        private boolean committing;
+
+        void add(Counter counter, long live, long trashed) {
+            long[] delta = deltas.computeIfAbsent(counter, key -> new long[2]);
+            delta[0] += live;
+            delta[1] += trashed;
+        }
+
+        SoftDeleteCounters owner() {
+            return SoftDeleteCounters.this;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            committing = true;
+            deltas.keySet().forEach(Counter::beginCommit);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            boolean committed = status == STATUS_COMMITTED;
+            if (committing) {
+                deltas.forEach((counter, delta) -> counter.endCommit(delta[0], delta[1], committed));
+            } else if (committed) {
+                deltas.forEach((counter, delta) -> counter.adjust(delta[0], delta[1]));
+            }
+        }
+    }
+}
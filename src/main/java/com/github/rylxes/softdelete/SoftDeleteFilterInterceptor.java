@@ -0,0 +1,46 @@
+package com.github.rylxes.softdelete;
+
+import jakarta.persistence.EntityManager;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.hibernate.Session;
+
+/**
+ * Enables the Hibernate soft-delete filter before every call on a
+ * repository proxy, so derived and {@code @Query} methods running in the
+ * caller's transaction exclude soft-deleted rows like the built-in ones.
+ * <p>
+ * Added by {@link SoftDeleteRepositoryFactoryBean} when the repository is
+ * created (and by {@link SoftDeleteFilterPostProcessor} to other JPA
+ * repositories, on request), which keeps the filter working without AspectJ auto-proxying
+ * or component scanning, both of which Spring AOT cannot process.
+ */
+class SoftDeleteFilterInterceptor implements MethodInterceptor {
+
+    private final EntityManager entityManager;
+    private final SoftDeleteInstrumentation instrumentation;
+
+    SoftDeleteFilterInterceptor(EntityManager entityManager, SoftDeleteInstrumentation instrumentation) {
+        this.entityManager = entityManager;
+        this.instrumentation = instrumentation;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        enableFilter();
+        return invocation.proceed();
+    }
+
+    private void enableFilter() {
+        try {
+            Session session = entityManager.unwrap(Session.class);
+            if (session.getEnabledFilter(SoftDeletableEntity.FILTER_NAME) == null) {
+                session.enableFilter(SoftDeletableEntity.FILTER_NAME);
+                instrumentation.filterToggled("interceptor", true);
+            }
+        } catch (Exception e) {
+            // Silently ignore — the filter may not apply to this entity or
+            // the session may not be actively bound (e.g. outside a transaction).
+        }
+    }
+}
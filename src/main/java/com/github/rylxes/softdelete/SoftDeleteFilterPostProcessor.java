@@ -0,0 +1,40 @@
+package com.github.rylxes.softdelete;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+
+/**
+ * Adds the {@link SoftDeleteFilterInterceptor} to JPA repositories that are
+ * not created by {@link SoftDeleteRepositoryFactoryBean}, such as those of an
+ * {@code @EnableJpaRepositories} without {@code repositoryFactoryBeanClass}.
+ * <p>
+ * Registered when {@code softdelete.filter-all-repositories=true}, for
+ * applications that relied on every repository enabling the filter. The
+ * interceptor uses the application's single {@link EntityManagerFactory}.
+ */
+public class SoftDeleteFilterPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+    private final ObjectProvider<SoftDeleteInstrumentation> instrumentation;
+
+    public SoftDeleteFilterPostProcessor(ObjectProvider<EntityManagerFactory> entityManagerFactory,
+            ObjectProvider<SoftDeleteInstrumentation> instrumentation) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.instrumentation = instrumentation;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof JpaRepositoryFactoryBean<?, ?, ?> factoryBean
+                && !(bean instanceof SoftDeleteRepositoryFactoryBean)) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, information) -> proxyFactory.addAdvice(new SoftDeleteFilterInterceptor(
+                            SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory.getObject()),
+                            instrumentation.getIfAvailable(() -> SoftDeleteInstrumentation.NONE)))));
+        }
+        return bean;
+    }
+}
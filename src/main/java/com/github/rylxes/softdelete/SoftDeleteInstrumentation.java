@@ -0,0 +1,40 @@
+package com.github.rylxes.softdelete;
+
+/**
+ * Callback interface for observing soft-delete repository activity.
+ * <p>
+ * The library ships a Micrometer implementation that is auto-configured
+ * when a {@code MeterRegistry} is available; implement this interface to
+ * feed another monitoring system instead.
+ */
+public interface SoftDeleteInstrumentation {
+
+    /**
+     * Instrumentation that records nothing.
+     */
+    SoftDeleteInstrumentation NONE = new SoftDeleteInstrumentation() {
+    };
+
+    /**
+     * Called after a {@link SoftDeleteRepository} operation returns or throws.
+     *
+     * @param domainType    the repository's entity type
+     * @param operation     the repository method name
+     * @param durationNanos wall-clock duration of the call
+     * @param failure       the exception thrown, or {@code null} on success
+     */
+    default void operationCompleted(Class<?> domainType, String operation, long durationNanos,
+            Throwable failure) {
+    }
+
+    /**
+     * Called when the soft-delete filter is actually switched on or off for
+     * a session (calls that find it already in the requested state are not
+     * reported).
+     *
+     * @param source  the component that toggled the filter
+     * @param enabled the new state of the filter
+     */
+    default void filterToggled(String source, boolean enabled) {
+    }
+}
@@ -0,0 +1,49 @@
+package com.github.rylxes.softdelete;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+
+/**
+ * Times every {@link SoftDeleteRepository} operation on a repository proxy
+ * and reports it to {@link SoftDeleteInstrumentation}.
+ * <p>
+ * Only methods declared by {@code SoftDeleteRepository} or the Spring Data
+ * interfaces it extends are measured, so the operation name space stays
+ * small and fixed; custom query methods pass straight through.
+ */
+class SoftDeleteInstrumentationInterceptor implements MethodInterceptor {
+
+    private final Class<?> domainType;
+    private final SoftDeleteInstrumentation instrumentation;
+
+    SoftDeleteInstrumentationInterceptor(Class<?> domainType, SoftDeleteInstrumentation instrumentation) {
+        this.domainType = domainType;
+        this.instrumentation = instrumentation;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        if (!isRepositoryOperation(method)) {
+            return invocation.proceed();
+        }
+
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            instrumentation.operationCompleted(domainType, method.getName(), System.nanoTime() - start, failure);
+        }
+    }
+
+    private static boolean isRepositoryOperation(Method method) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        return declaringClass != Object.class && declaringClass.isAssignableFrom(SoftDeleteRepository.class);
+    }
+}
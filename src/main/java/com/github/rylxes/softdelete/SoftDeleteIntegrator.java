@@ -0,0 +1,188 @@
+package com.github.rylxes.softdelete;
+
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OneToOne;
+import org.hibernate.MappingException;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.mapping.Column;
+import org.hibernate.mapping.PersistentClass;
+import org.hibernate.mapping.Property;
+import org.hibernate.mapping.Table;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+import java.beans.Introspector;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Applies the effective soft-delete column to the Hibernate mapping and
+ * builds the {@link SoftDeleteRegistry}.
+ * <p>
+ * Runs once per session factory, after the mapping is bound but before
+ * the entity persisters are built. For every {@link SoftDeletable} entity
+ * it renames the soft-delete column to the one given by
+ * {@link SoftDeleteColumn @SoftDeleteColumn} or, failing that, the
+ * {@value #COLUMN_NAME_SETTING} setting, and rewrites the entity's
+ * soft-delete filter condition to match. It also records the
+ * {@link SoftDeleteCascade} associations of each entity. Registered through
+ * {@code META-INF/services}, so it is active in any Hibernate bootstrap.
+ */
+public class SoftDeleteIntegrator implements Integrator {
+
+    /**
+     * Hibernate setting holding the default soft-delete column name. The
+     * auto-configuration copies {@code softdelete.column-name} into it.
+     */
+    public static final String COLUMN_NAME_SETTING = "softdelete.column_name";
+
+    static final String ATTRIBUTE = "deletedAt";
+
+    private static final String DEFAULT_COLUMN = "deleted_at";
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+            SessionFactoryImplementor sessionFactory) {
+
+        Dialect dialect = sessionFactory.getJdbcServices().getDialect();
+        Object defaultColumn = bootstrapContext.getServiceRegistry().getService(ConfigurationService.class)
+                .getSettings().get(COLUMN_NAME_SETTING);
+
+        Map<Class<?>, SoftDeleteMetadata> entities = new LinkedHashMap<>();
+        for (PersistentClass persistentClass : metadata.getEntityBindings()) {
+            Class<?> javaType = persistentClass.getMappedClass();
+            if (javaType == null || !SoftDeletable.class.isAssignableFrom(javaType)
+                    || !persistentClass.hasProperty(ATTRIBUTE)) {
+                continue;
+            }
+
+            Property property = persistentClass.getProperty(ATTRIBUTE);
+            Column column = property.getColumns().get(0);
+            String columnName = resolveColumnName(persistentClass, column, defaultColumn);
+            if (columnName != null && !columnName.equals(column.getName())) {
+                column.setName(columnName);
+            }
+
+            String quotedColumn = column.getQuotedName(dialect);
+            String condition = quotedColumn + " IS NULL";
+            applyFilterCondition(persistentClass, condition);
+
+            Table table = property.getValue().getTable();
+            String tableName = table.getSchema() == null
+                    ? table.getQuotedName(dialect)
+                    : table.getSchema() + "." + table.getQuotedName(dialect);
+            Property id = persistentClass.getIdentifierProperty();
+            entities.put(javaType, new SoftDeleteMetadata(persistentClass.getJpaEntityName(), javaType, ATTRIBUTE,
+                    tableName, quotedColumn,
+                    id == null ? null : id.getName(),
+                    persistentClass.getIdentifier().getColumns().get(0).getQuotedName(dialect),
+                    persistentClass.isVersioned() ? persistentClass.getVersion().getName() : null,
+                    condition,
+                    table.getColumns().stream().map(tableColumn -> tableColumn.getQuotedName(dialect)).toList(),
+                    resolveCascades(javaType)));
+        }
+        SoftDeleteRegistry.register(sessionFactory, new SoftDeleteRegistry(entities));
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        SoftDeleteRegistry.unregister(sessionFactory);
+    }
+
+    /**
+     * {@code @SoftDeleteColumn} on the entity or one of its superclasses
+     * wins; the global setting only replaces the library's own default, so
+     * an explicit {@code @AttributeOverride} is kept. {@code null} keeps
+     * the mapped column.
+     */
+    private static String resolveColumnName(PersistentClass persistentClass, Column column, Object defaultColumn) {
+        for (Class<?> type = persistentClass.getMappedClass(); type != null; type = type.getSuperclass()) {
+            SoftDeleteColumn annotation = type.getAnnotation(SoftDeleteColumn.class);
+            if (annotation != null) {
+                return annotation.value();
+            }
+        }
+        if (defaultColumn == null || defaultColumn.toString().isBlank() || !DEFAULT_COLUMN.equals(column.getName())) {
+            return null;
+        }
+        return defaultColumn.toString();
+    }
+
+    /**
+     * Find the {@link SoftDeleteCascade} associations declared on the class
+     * or its superclasses.
+     */
+    private static List<SoftDeleteMetadata.Cascade> resolveCascades(Class<?> javaType) {
+        List<SoftDeleteMetadata.Cascade> cascades = new ArrayList<>();
+        for (Class<?> type = javaType; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (field.isAnnotationPresent(SoftDeleteCascade.class)) {
+                    cascades.add(resolveCascade(javaType, field.getName(), field.getGenericType(), field));
+                }
+            }
+            for (Method method : type.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(SoftDeleteCascade.class)) {
+                    cascades.add(resolveCascade(javaType, propertyName(method), method.getGenericReturnType(),
+                            method));
+                }
+            }
+        }
+        return List.copyOf(cascades);
+    }
+
+    private static SoftDeleteMetadata.Cascade resolveCascade(Class<?> owner, String attribute, Type type,
+            AnnotatedElement element) {
+
+        OneToMany oneToMany = element.getAnnotation(OneToMany.class);
+        OneToOne oneToOne = element.getAnnotation(OneToOne.class);
+        String mappedBy = oneToMany != null ? oneToMany.mappedBy() : oneToOne != null ? oneToOne.mappedBy() : "";
+        if (mappedBy.isEmpty()) {
+            throw new MappingException("@SoftDeleteCascade on " + owner.getName() + "." + attribute
+                    + " requires a @OneToMany or @OneToOne association with mappedBy");
+        }
+
+        Class<?> childType;
+        Class<?> targetEntity = oneToMany != null ? oneToMany.targetEntity() : oneToOne.targetEntity();
+        if (targetEntity != void.class) {
+            childType = targetEntity;
+        } else if (oneToMany != null && type instanceof ParameterizedType collection) {
+            Type[] arguments = collection.getActualTypeArguments();
+            childType = (Class<?>) arguments[arguments.length - 1];
+        } else {
+            childType = (Class<?>) (type instanceof ParameterizedType parameterized ? parameterized.getRawType() : type);
+        }
+
+        if (!SoftDeletable.class.isAssignableFrom(childType)) {
+            throw new MappingException("@SoftDeleteCascade on " + owner.getName() + "." + attribute
+                    + " targets " + childType.getName() + ", which is not soft-deletable");
+        }
+        return new SoftDeleteMetadata.Cascade(attribute, childType, mappedBy);
+    }
+
+    private static String propertyName(Method method) {
+        String name = method.getName();
+        String property = name.startsWith("get") ? name.substring(3) : name.startsWith("is") ? name.substring(2) : name;
+        return Introspector.decapitalize(property);
+    }
+
+    private static void applyFilterCondition(PersistentClass persistentClass, String condition) {
+        boolean filtered = persistentClass.getFilters()
+                .removeIf(filter -> SoftDeletableEntity.FILTER_NAME.equals(filter.getName()));
+        if (filtered) {
+            persistentClass.addFilter(SoftDeletableEntity.FILTER_NAME, condition, true,
+                    Collections.emptyMap(), Collections.emptyMap());
+        }
+    }
+}
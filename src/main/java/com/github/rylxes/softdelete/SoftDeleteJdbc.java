@@ -0,0 +1,293 @@
+package com.github.rylxes.softdelete;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.action.internal.BulkOperationCleanupAction;
+import org.hibernate.cache.spi.TimestampsCache;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.internal.Versioning;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.metamodel.mapping.EntityVersionMapping;
+import org.hibernate.metamodel.mapping.JdbcMapping;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.descriptor.ValueBinder;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Plain JDBC statements for the counts, existence checks, single-row
+ * transitions and bulk mutations of one entity, run on the session's
+ * connection so they join its transaction.
+ * <p>
+ * The SQL is built once from the mapped table and columns, and values are
+ * bound with the mapping's own JDBC binders. {@code IN} lists are padded to
+ * the next power of two (up to {@code softdelete.batch-size}) by repeating
+ * the last id, so each mutation has only a handful of distinct statements
+ * for the driver and pool to cache.
+ * <p>
+ * Bulk mutations schedule Hibernate's bulk-operation cleanup, which
+ * invalidates the second-level cache region and the query spaces of the
+ * entity exactly as a JPQL bulk statement would. A transition touches one
+ * known row, so it locks and removes only that row's cache entry, the way
+ * Hibernate's own entity updates do, and leaves the rest of the region
+ * warm. The persistence context is left alone; keeping it in step is up to
+ * the caller.
+ */
+final class SoftDeleteJdbc {
+
+    private final EntityPersister persister;
+    private final JdbcMapping idMapping;
+    private final JdbcMapping deletedAtMapping;
+    private final EntityVersionMapping versionMapping;
+    private final boolean incrementVersion;
+    private final int batchSize;
+
+    private final String countTrashed;
+    private final String countWithTrashed;
+    private final String stats;
+    private final String existsById;
+    private final String softDeleteById;
+    private final String restoreById;
+    private final String softDeleteByIdAndVersion;
+    private final String restoreByIdAndVersion;
+    private final String softDeleteAll;
+    private final String softDeleteByIds;
+    private final String restoreByIds;
+    private final String purgeByIds;
+    private final Map<String, String> padded = new ConcurrentHashMap<>();
+
+    SoftDeleteJdbc(EntityManagerFactory entityManagerFactory, SoftDeleteMetadata metadata, int batchSize) {
+        this.persister = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(metadata.javaType());
+        this.idMapping = persister.getIdentifierMapping().getSingleJdbcMapping();
+        this.deletedAtMapping = persister.findAttributeMapping(metadata.attribute()).getSingleJdbcMapping();
+        this.versionMapping = persister.getVersionMapping();
+        this.batchSize = Math.max(1, batchSize);
+
+        String table = metadata.table();
+        String column = metadata.column();
+        String id = metadata.idColumn();
+        this.countTrashed = "SELECT COUNT(*) FROM " + table + " WHERE " + column + " IS NOT NULL";
+        this.countWithTrashed = "SELECT COUNT(*) FROM " + table;
+        this.stats = "SELECT COUNT(*), COUNT(" + column + ") FROM " + table;
+        this.existsById = "SELECT COUNT(*) FROM " + table + " WHERE " + id + " = ? AND " + column + " IS NULL";
+        // Single-row transitions bump the version, so that a concurrent
+        // merge of a stale copy fails instead of reverting them: numeric
+        // versions in SQL, timestamps with a freshly seeded value.
+        String version = versionMapping == null ? null : versionMapping.getSelectionExpression();
+        this.incrementVersion = versionMapping != null
+                && Number.class.isAssignableFrom(versionMapping.getJavaType().getJavaTypeClass());
+        String bump = version == null ? "" : incrementVersion
+                ? ", " + version + " = " + version + " + 1"
+                : ", " + version + " = ?";
+        this.softDeleteById = "UPDATE " + table + " SET " + column + " = ?" + bump + " WHERE " + id + " = ? AND "
+                + column + " IS NULL";
+        this.restoreById = "UPDATE " + table + " SET " + column + " = NULL" + bump + " WHERE " + id + " = ? AND "
+                + column + " IS NOT NULL";
+        this.softDeleteByIdAndVersion = version == null ? null : softDeleteById + " AND " + version + " = ?";
+        this.restoreByIdAndVersion = version == null ? null : restoreById + " AND " + version + " = ?";
+        this.softDeleteAll = "UPDATE " + table + " SET " + column + " = ? WHERE " + column + " IS NULL";
+        this.softDeleteByIds = "UPDATE " + table + " SET " + column + " = ? WHERE " + column + " IS NULL AND "
+                + id + " IN (";
+        this.restoreByIds = "UPDATE " + table + " SET " + column + " = NULL WHERE " + column + " IS NOT NULL AND "
+                + id + " IN (";
+        this.purgeByIds = "DELETE FROM " + table + " WHERE " + column + " < ? AND " + id + " IN (";
+    }
+
+    long countTrashed(Session session) {
+        return count(session, countTrashed);
+    }
+
+    long countWithTrashed(Session session) {
+        return count(session, countWithTrashed);
+    }
+
+    SoftDeleteStats stats(Session session) {
+        return session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(stats);
+                    ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                long trashed = resultSet.getLong(2);
+                return new SoftDeleteStats(resultSet.getLong(1) - trashed, trashed);
+            }
+        });
+    }
+
+    boolean existsById(Session session, Object id) {
+        SharedSessionContractImplementor options = session.unwrap(SharedSessionContractImplementor.class);
+        return session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(existsById)) {
+                bind(statement, 1, idMapping, id, options);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    return resultSet.next() && resultSet.getLong(1) > 0;
+                }
+            }
+        });
+    }
+
+    /**
+     * Compare-and-set the soft-delete column of one row: stamp it with
+     * {@code deletedAt} if it is live, or clear it for {@code null} if it is
+     * trashed, and if {@code expectedVersion} is given only while the row
+     * has that version. Versioned rows get a new version.
+     *
+     * @return whether the row changed
+     */
+    boolean transition(Session session, Object id, Object expectedVersion, Instant deletedAt) {
+        SharedSessionContractImplementor options = session.unwrap(SharedSessionContractImplementor.class);
+        String sql = deletedAt != null
+                ? expectedVersion == null ? softDeleteById : softDeleteByIdAndVersion
+                : expectedVersion == null ? restoreById : restoreByIdAndVersion;
+        int updated = session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                int index = 1;
+                if (deletedAt != null) {
+                    bind(statement, index++, deletedAtMapping, deletedAt, options);
+                }
+                if (versionMapping != null && !incrementVersion) {
+                    bind(statement, index++, versionMapping.getJdbcMapping(),
+                            Versioning.seed(versionMapping, options), options);
+                }
+                bind(statement, index++, idMapping, id, options);
+                if (expectedVersion != null) {
+                    bind(statement, index, versionMapping.getJdbcMapping(), expectedVersion, options);
+                }
+                return statement.executeUpdate();
+            }
+        });
+        if (updated == 0) {
+            return false;
+        }
+        invalidate(session.unwrap(SessionImplementor.class), id);
+        return true;
+    }
+
+    /**
+     * Remove one row from the second-level cache, keeping it locked until
+     * the transaction completes so that a concurrent load can't put the old
+     * state back, and invalidate the entity's query spaces at completion.
+     */
+    private void invalidate(SessionImplementor session, Object id) {
+        TimestampsCache timestamps = session.getFactory().getCache().getTimestampsCache();
+        String[] spaces = persister.getPropertySpaces();
+        timestamps.preInvalidate(spaces, session);
+        EntityDataAccess cache = persister.canWriteToCache() ? persister.getCacheAccessStrategy() : null;
+        Object key = cache == null
+                ? null
+                : cache.generateCacheKey(id, persister, session.getFactory(), session.getTenantIdentifier());
+        SoftLock lock = cache == null ? null : cache.lockItem(session, key, null);
+        if (cache != null) {
+            cache.remove(session, key);
+        }
+        session.getActionQueue().registerProcess((success, completed) -> {
+            if (cache != null) {
+                cache.unlockItem(completed, key, lock);
+            }
+            timestamps.invalidate(spaces, completed);
+        });
+    }
+
+    /**
+     * Stamp every live row with {@code deletedAt}.
+     */
+    int softDeleteAll(Session session, Instant deletedAt) {
+        SharedSessionContractImplementor options = session.unwrap(SharedSessionContractImplementor.class);
+        int updated = session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(softDeleteAll)) {
+                bind(statement, 1, deletedAtMapping, deletedAt, options);
+                return statement.executeUpdate();
+            }
+        });
+        BulkOperationCleanupAction.schedule(options, persister);
+        return updated;
+    }
+
+    /**
+     * Stamp the live rows among at most {@code softdelete.batch-size} ids.
+     */
+    int softDelete(Session session, List<?> ids, Instant deletedAt) {
+        return update(session, softDeleteByIds, deletedAt, ids);
+    }
+
+    /**
+     * Clear the soft-delete column of the trashed rows among at most
+     * {@code softdelete.batch-size} ids.
+     */
+    int restore(Session session, List<?> ids) {
+        return update(session, restoreByIds, null, ids);
+    }
+
+    /**
+     * Delete the rows among at most {@code softdelete.batch-size} ids that
+     * were trashed before the cutoff.
+     */
+    int purge(Session session, List<?> ids, Instant cutoff) {
+        return update(session, purgeByIds, cutoff, ids);
+    }
+
+    private int update(Session session, String prefix, Instant timestamp, List<?> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        SharedSessionContractImplementor options = session.unwrap(SharedSessionContractImplementor.class);
+        int size = paddedSize(ids.size());
+        String sql = padded.computeIfAbsent(prefix + size, key -> inList(prefix, size));
+        int updated = session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                int index = 1;
+                if (timestamp != null) {
+                    bind(statement, index++, deletedAtMapping, timestamp, options);
+                }
+                for (int i = 0; i < size; i++) {
+                    bind(statement, index++, idMapping, ids.get(Math.min(i, ids.size() - 1)), options);
+                }
+                return statement.executeUpdate();
+            }
+        });
+        BulkOperationCleanupAction.schedule(options, persister);
+        return updated;
+    }
+
+    private int paddedSize(int size) {
+        if (size >= batchSize) {
+            return size;
+        }
+        int nextPowerOfTwo = size == 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+        return Math.min(nextPowerOfTwo, batchSize);
+    }
+
+    private static String inList(String prefix, int size) {
+        StringBuilder sql = new StringBuilder(prefix.length() + size * 3).append(prefix);
+        for (int i = 0; i < size; i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        return sql.append(')').toString();
+    }
+
+    private static long count(Session session, String sql) {
+        return session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql);
+                    ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void bind(PreparedStatement statement, int index, JdbcMapping mapping, Object value,
+            SharedSessionContractImplementor options) throws SQLException {
+        ((ValueBinder<Object>) mapping.getJdbcValueBinder())
+                .bind(statement, mapping.convertToRelationalValue(value), index, options);
+    }
+}
@@ -0,0 +1,33 @@
+package com.github.rylxes.softdelete;
+
+import java.util.List;
+
+/**
+ * Resolved soft-delete mapping of one entity.
+ *
+ * @param entityName      the JPA entity name
+ * @param javaType        the entity class
+ * @param attribute       the attribute holding the soft-delete timestamp
+ * @param table           the table holding the soft-delete column, quoted for the dialect
+ * @param column          the soft-delete column, quoted for the dialect
+ * @param idAttribute     the identifier attribute
+ * @param idColumn        the identifier column, quoted for the dialect
+ * @param version         the {@code @Version} attribute, or {@code null}
+ * @param filterCondition the SQL condition applied by the soft-delete filter
+ * @param columns         every column of {@code table}, quoted for the dialect
+ * @param cascades        associations annotated with {@link SoftDeleteCascade}
+ */
+public record SoftDeleteMetadata(String entityName, Class<?> javaType, String attribute, String table,
+        String column, String idAttribute, String idColumn, String version, String filterCondition,
+        List<String> columns, List<Cascade> cascades) {
+
+    /**
+     * A {@link SoftDeleteCascade} association.
+     *
+     * @param attribute the association attribute on the parent
+     * @param childType the soft-deletable target entity
+     * @param mappedBy  the attribute on the child referencing the parent
+     */
+    public record Cascade(String attribute, Class<?> childType, String mappedBy) {
+    }
+}
@@ -0,0 +1,236 @@
+package com.github.rylxes.softdelete;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * The soft-delete scope queries for one entity, registered as named queries
+ * with the {@link EntityManagerFactory} when the repository is created.
+ * <p>
+ * Each JPQL string is built and validated exactly once; the repository hot
+ * path only looks queries up by their (constant) name, so no string
+ * building or re-parsing happens per call.
+ */
+final class SoftDeleteQueries {
+
+    private static final String PREFIX = "SoftDelete.";
+
+    private final String findAllTrashed;
+    private final String findAllWithTrashed;
+    private final String countTrashed;
+    private final String stats;
+    private final String existsById;
+    private final String existsByIdWithTrashed;
+    private final String isTrashed;
+    private final String softDeleteAllById;
+    private final String softDeleteAll;
+    private final String versionById;
+    private final String restoreAllById;
+    private final String findTrashedByIds;
+    private final String liveIds;
+    private final String trashedIds;
+    private final String trashedDeletedAt;
+    private final String findTrashedFirst;
+    private final String findTrashedAfter;
+    private final String purgeCandidates;
+    private final String purgeCandidatesAfter;
+    private final String purgeByIds;
+    private final String existingIds;
+    private final String deletedAtById;
+
+    private SoftDeleteQueries(String entityName) {
+        String prefix = PREFIX + entityName + ".";
+        this.findAllTrashed = prefix + "findAllTrashed";
+        this.findAllWithTrashed = prefix + "findAllWithTrashed";
+        this.countTrashed = prefix + "countTrashed";
+        this.stats = prefix + "stats";
+        this.existsById = prefix + "existsById";
+        this.existsByIdWithTrashed = prefix + "existsByIdWithTrashed";
+        this.isTrashed = prefix + "isTrashed";
+        this.softDeleteAllById = prefix + "softDeleteAllById";
+        this.softDeleteAll = prefix + "softDeleteAll";
+        this.versionById = prefix + "versionById";
+        this.restoreAllById = prefix + "restoreAllById";
+        this.findTrashedByIds = prefix + "findTrashedByIds";
+        this.liveIds = prefix + "liveIds";
+        this.trashedIds = prefix + "trashedIds";
+        this.trashedDeletedAt = prefix + "trashedDeletedAt";
+        this.findTrashedFirst = prefix + "findTrashedFirst";
+        this.findTrashedAfter = prefix + "findTrashedAfter";
+        this.purgeCandidates = prefix + "purgeCandidates";
+        this.purgeCandidatesAfter = prefix + "purgeCandidatesAfter";
+        this.purgeByIds = prefix + "purgeByIds";
+        this.existingIds = prefix + "existingIds";
+        this.deletedAtById = prefix + "deletedAtById";
+    }
+
+    /**
+     * Build the queries for the given entity and register them with the
+     * entity manager factory.
+     */
+    static SoftDeleteQueries register(EntityManagerFactory entityManagerFactory,
+            SoftDeleteMetadata metadata) {
+
+        String entity = metadata.entityName() + " e";
+        String id = "e." + metadata.idAttribute();
+        String deletedAt = "e." + metadata.attribute();
+        SoftDeleteQueries queries = new SoftDeleteQueries(metadata.entityName());
+
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            Registrar registrar = new Registrar(entityManagerFactory, entityManager);
+            registrar.add(queries.findAllTrashed,
+                    "SELECT e FROM " + entity + " WHERE " + deletedAt + " IS NOT NULL");
+            registrar.add(queries.findAllWithTrashed,
+                    "SELECT e FROM " + entity);
+            registrar.add(queries.countTrashed,
+                    "SELECT COUNT(e) FROM " + entity + " WHERE " + deletedAt + " IS NOT NULL");
+            registrar.add(queries.stats,
+                    "SELECT COUNT(e), COUNT(" + deletedAt + ") FROM " + entity);
+            registrar.add(queries.existsById,
+                    "SELECT COUNT(e) FROM " + entity + " WHERE " + id + " = :id AND " + deletedAt + " IS NULL");
+            registrar.add(queries.existsByIdWithTrashed,
+                    "SELECT COUNT(e) FROM " + entity + " WHERE " + id + " = :id");
+            registrar.add(queries.isTrashed,
+                    "SELECT COUNT(e) FROM " + entity + " WHERE " + id + " = :id AND " + deletedAt + " IS NOT NULL");
+            registrar.add(queries.softDeleteAllById,
+                    "UPDATE " + entity + " SET " + deletedAt + " = :deletedAt WHERE " + id
+                            + " IN :ids AND " + deletedAt + " IS NULL");
+            registrar.add(queries.softDeleteAll,
+                    "UPDATE " + entity + " SET " + deletedAt + " = :deletedAt WHERE " + deletedAt + " IS NULL");
+            if (metadata.version() != null) {
+                String version = "e." + metadata.version();
+                registrar.add(queries.versionById,
+                        "SELECT " + version + " FROM " + entity + " WHERE " + id + " = :id");
+            }
+            registrar.add(queries.restoreAllById,
+                    "UPDATE " + entity + " SET " + deletedAt + " = NULL WHERE " + id
+                            + " IN :ids AND " + deletedAt + " IS NOT NULL");
+            registrar.add(queries.findTrashedByIds,
+                    "SELECT e FROM " + entity + " WHERE " + id + " IN :ids AND " + deletedAt + " IS NOT NULL");
+            registrar.add(queries.liveIds,
+                    "SELECT " + id + " FROM " + entity + " WHERE " + id + " IN :ids AND " + deletedAt + " IS NULL");
+            registrar.add(queries.trashedIds,
+                    "SELECT " + id + " FROM " + entity + " WHERE " + id + " IN :ids AND " + deletedAt
+                            + " IS NOT NULL");
+            registrar.add(queries.trashedDeletedAt,
+                    "SELECT " + id + ", " + deletedAt + " FROM " + entity + " WHERE " + id + " IN :ids AND "
+                            + deletedAt + " IS NOT NULL");
+            String newestFirst = " ORDER BY " + deletedAt + " DESC, " + id + " DESC";
+            registrar.add(queries.findTrashedFirst,
+                    "SELECT e FROM " + entity + " WHERE " + deletedAt + " IS NOT NULL" + newestFirst);
+            registrar.add(queries.findTrashedAfter,
+                    "SELECT e FROM " + entity + " WHERE " + deletedAt + " < :deletedAt OR (" + deletedAt
+                            + " = :deletedAt AND " + id + " < :id)" + newestFirst);
+            registrar.add(queries.purgeCandidates,
+                    "SELECT " + id + " FROM " + entity + " WHERE " + deletedAt + " < :cutoff ORDER BY " + id);
+            registrar.add(queries.purgeCandidatesAfter,
+                    "SELECT " + id + " FROM " + entity + " WHERE " + deletedAt + " < :cutoff AND " + id
+                            + " > :after ORDER BY " + id);
+            registrar.add(queries.purgeByIds,
+                    "DELETE FROM " + entity + " WHERE " + id + " IN :ids AND " + deletedAt + " < :cutoff");
+            registrar.add(queries.existingIds,
+                    "SELECT " + id + " FROM " + entity + " WHERE " + id + " IN :ids");
+            registrar.add(queries.deletedAtById,
+                    "SELECT " + deletedAt + " FROM " + entity + " WHERE " + id + " = :id");
+        } finally {
+            entityManager.close();
+        }
+        return queries;
+    }
+
+    String findAllTrashed() {
+        return findAllTrashed;
+    }
+
+    String findAllWithTrashed() {
+        return findAllWithTrashed;
+    }
+
+    String countTrashed() {
+        return countTrashed;
+    }
+
+    String stats() {
+        return stats;
+    }
+
+    String existsById() {
+        return existsById;
+    }
+
+    String existsByIdWithTrashed() {
+        return existsByIdWithTrashed;
+    }
+
+    String isTrashed() {
+        return isTrashed;
+    }
+
+    String softDeleteAllById() {
+        return softDeleteAllById;
+    }
+
+    String softDeleteAll() {
+        return softDeleteAll;
+    }
+
+    String versionById() {
+        return versionById;
+    }
+
+    String restoreAllById() {
+        return restoreAllById;
+    }
+
+    String findTrashedByIds() {
+        return findTrashedByIds;
+    }
+
+    String liveIds() {
+        return liveIds;
+    }
+
+    String trashedIds() {
+        return trashedIds;
+    }
+
+    String trashedDeletedAt() {
+        return trashedDeletedAt;
+    }
+
+    String findTrashedFirst() {
+        return findTrashedFirst;
+    }
+
+    String findTrashedAfter() {
+        return findTrashedAfter;
+    }
+
+    String purgeCandidates() {
+        return purgeCandidates;
+    }
+
+    String purgeCandidatesAfter() {
+        return purgeCandidatesAfter;
+    }
+
+    String purgeByIds() {
+        return purgeByIds;
+    }
+
+    String existingIds() {
+        return existingIds;
+    }
+
+    String deletedAtById() {
+        return deletedAtById;
+    }
+
+    record Registrar(EntityManagerFactory entityManagerFactory, EntityManager entityManager) {
+
+        void add(String name, String jpql) {
+            entityManagerFactory.addNamedQuery(name, entityManager.createQuery(jpql));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.github.rylxes.softdelete;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@link SoftDeleteMetadata} of every soft-deletable entity of a
+ * session factory, resolved once by {@link SoftDeleteIntegrator} while
+ * the session factory is bootstrapped.
+ */
+public final class SoftDeleteRegistry {
+
+    private static final Map<SessionFactoryImplementor, SoftDeleteRegistry> registries = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, SoftDeleteMetadata> entities;
+    private final SoftDeleteCounters counters = new SoftDeleteCounters();
+
+    SoftDeleteRegistry(Map<Class<?>, SoftDeleteMetadata> entities) {
+        this.entities = Collections.unmodifiableMap(entities);
+    }
+
+    /**
+     * Returns the registry of the given entity manager factory.
+     *
+     * @throws IllegalStateException if {@link SoftDeleteIntegrator} did not
+     *                               run for the factory
+     */
+    public static SoftDeleteRegistry of(EntityManagerFactory entityManagerFactory) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        SoftDeleteRegistry registry = registries.get(sessionFactory);
+        if (registry == null) {
+            throw new IllegalStateException("No soft-delete metadata for session factory " + sessionFactory
+                    + "; is " + SoftDeleteIntegrator.class.getName() + " registered?");
+        }
+        return registry;
+    }
+
+    static void register(SessionFactoryImplementor sessionFactory, SoftDeleteRegistry registry) {
+        registries.put(sessionFactory, registry);
+    }
+
+    static void unregister(SessionFactoryImplementor sessionFactory) {
+        registries.remove(sessionFactory);
+    }
+
+    /**
+     * Returns the metadata of the given soft-deletable entity class.
+     *
+     * @throws IllegalArgumentException if the class is not a soft-deletable entity
+     */
+    public SoftDeleteMetadata get(Class<?> javaType) {
+        SoftDeleteMetadata metadata = entities.get(javaType);
+        if (metadata == null) {
+            throw new IllegalArgumentException(javaType.getName() + " is not a soft-deletable entity");
+        }
+        return metadata;
+    }
+
+    /**
+     * Returns the metadata of every soft-deletable entity.
+     */
+    public Collection<SoftDeleteMetadata> getAll() {
+        return entities.values();
+    }
+
+    /**
+     * Returns the cached row counters of this session factory's entities.
+     */
+    SoftDeleteCounters counters() {
+        return counters;
+    }
+}
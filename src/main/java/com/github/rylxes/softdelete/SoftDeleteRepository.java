@@ -1,10 +1,17 @@
 package com.github.rylxes.softdelete;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.repository.NoRepositoryBean;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * JPA repository with Laravel-style soft-delete operations.
@@ -27,25 +34,113 @@ public interface SoftDeleteRepository<T extends SoftDeletable, ID> extends JpaRe
 
     /**
      * Soft-delete the entity by setting its {@code deletedAt} timestamp.
+     * <p>
+     * The row is changed with a conditional {@code UPDATE} of the
+     * soft-delete column alone (and the version, for {@code @Version}
+     * entities), applied only if the row is still live, so concurrent
+     * callers cannot overwrite each other's timestamp or other columns of
+     * the row. With {@code softdelete.check-version=true}, the row must also
+     * still have the version of the given copy. On success the given copy
+     * is updated to match.
+     * <p>
+     * A new entity is merged instead and inserted soft-deleted at the flush
+     * {@code softdelete.flush-mode} dictates. For an existing entity the
+     * outcome is the result of the {@code UPDATE}, so it always runs right
+     * away, whatever the flush mode; to soft-delete many rows in a few
+     * statements use {@link #softDeleteAllById}.
+     *
+     * @return {@code true} if this call soft-deleted the row, {@code false}
+     *         if it was already trashed, gone, or (when checked) of another
+     *         version
      */
-    void softDelete(T entity);
+    boolean softDelete(T entity);
 
     /**
-     * Soft-delete the entity with the given id.
+     * Soft-delete the entity with the given id using a single conditional
+     * {@code UPDATE ... WHERE id = :id AND deleted_at IS NULL}.
+     *
+     * @return {@code true} if a live row was soft-deleted, {@code false} if
+     *         the id does not exist or is already trashed
      */
-    void softDeleteById(ID id);
+    boolean softDeleteById(ID id);
+
+    /**
+     * Soft-delete every entity with one of the given ids.
+     * <p>
+     * Issues set-based {@code UPDATE} statements, chunked by
+     * {@code softdelete.batch-size}, that share a single timestamp. Entities
+     * are never loaded; instances already managed by the current session are
+     * updated in place.
+     *
+     * @return the number of rows that were soft-deleted
+     */
+    long softDeleteAllById(Iterable<? extends ID> ids);
+
+    /**
+     * Soft-delete every live entity matching the given specification.
+     *
+     * @return the number of rows that were soft-deleted
+     */
+    long softDeleteAll(Specification<T> spec);
+
+    /**
+     * Soft-delete every live entity with a single set-based {@code UPDATE}.
+     * {@link #deleteAll()} delegates here.
+     *
+     * @return the number of rows that were soft-deleted
+     */
+    long softDeleteAll();
 
     // ── Restore ────────────────────────────────────────────────────
 
     /**
-     * Restore a soft-deleted entity by clearing its {@code deletedAt} timestamp.
+     * Restore a soft-deleted entity by clearing its {@code deletedAt}
+     * timestamp, with the same conditional {@code UPDATE} as
+     * {@link #softDelete(SoftDeletable)}, which runs right away whatever the
+     * flush mode. A new entity is inserted live.
+     *
+     * @return {@code true} if this call restored the row, {@code false} if
+     *         it was already live, gone, or (when checked) of another version
+     */
+    boolean restore(T entity);
+
+    /**
+     * Restore a soft-deleted entity by its id using a single conditional
+     * {@code UPDATE ... WHERE id = :id AND deleted_at IS NOT NULL}.
+     *
+     * @return {@code true} if a trashed row was restored, {@code false} if
+     *         the id does not exist or is not trashed
+     */
+    boolean restoreById(ID id);
+
+    /**
+     * Restore every given entity that is currently trashed, clearing
+     * {@code deletedAt} on the passed instances as well.
+     *
+     * @return the number of rows that were restored
+     * @see #restoreAllById(Iterable)
+     */
+    long restoreAll(Iterable<? extends T> entities);
+
+    /**
+     * Restore every trashed entity with one of the given ids.
+     * <p>
+     * Issues set-based {@code UPDATE} statements chunked by
+     * {@code softdelete.batch-size}. If the entity declares
+     * {@code @PreUpdate}/{@code @PostUpdate} callbacks, the trashed rows are
+     * instead loaded chunk by chunk and flushed as one JDBC batch per chunk,
+     * so the callbacks fire.
+     *
+     * @return the number of rows that were restored
      */
-    void restore(T entity);
+    long restoreAllById(Iterable<? extends ID> ids);
 
     /**
-     * Restore a soft-deleted entity by its id.
+     * Restore every trashed entity matching the given specification.
+     *
+     * @return the number of rows that were restored
      */
-    void restoreById(ID id);
+    long restoreAll(Specification<T> spec);
 
     // ── Force Delete ───────────────────────────────────────────────
 
@@ -59,6 +154,58 @@ public interface SoftDeleteRepository<T extends SoftDeletable, ID> extends JpaRe
      */
     void forceDeleteById(ID id);
 
+    /**
+     * Permanently delete one chunk of rows soft-deleted before
+     * {@code deletedBefore}, walking the primary key in ascending order.
+     * <p>
+     * Candidates are selected with a keyset predicate ({@code id > afterId})
+     * and removed with one {@code DELETE ... WHERE id IN (...)} that
+     * re-checks the cutoff, so a row restored in the meantime is kept.
+     * Intended to be called once per short transaction, as the purge engine does.
+     * No outbox events are written.
+     *
+     * @param afterId the last id returned by the previous call, or {@code null} to start
+     * @param limit   maximum number of rows to delete
+     * @return the ids that were deleted, in ascending order; empty when no
+     *         candidates remain
+     */
+    List<ID> purgeTrashed(Instant deletedBefore, ID afterId, int limit);
+
+    // ── Archive ────────────────────────────────────────────────────
+
+    /**
+     * Move one chunk of rows soft-deleted before {@code deletedBefore} into
+     * the archive table ({@code <table>_archive} by default), walking the
+     * primary key in ascending order.
+     * <p>
+     * Rows are copied with one {@code INSERT ... SELECT} and removed with one
+     * {@code DELETE}, in the caller's transaction. Before the first chunk the
+     * archive table is created, with a unique index on the id column, or
+     * validated against the entity table, on a separate connection that
+     * commits on its own.
+     *
+     * @param afterId the last id returned by the previous call, or {@code null} to start
+     * @param limit   maximum number of rows to move
+     * @return the ids that were archived, in ascending order; empty when no
+     *         candidates remain
+     */
+    List<ID> archiveTrashed(Instant deletedBefore, ID afterId, int limit);
+
+    /**
+     * Find an archived entity by id. The returned instance is detached.
+     * Empty while the archive table does not exist; it is never created here.
+     */
+    Optional<T> findArchivedById(ID id);
+
+    /**
+     * Move an archived row back into the entity table as a live row, writing
+     * a {@code RESTORED} outbox event. Archiving itself writes none.
+     *
+     * @return {@code true} if the row was restored, {@code false} if it is
+     *         not archived or the archive table does not exist
+     */
+    boolean restoreFromArchive(ID id);
+
     // ── Query Scopes ───────────────────────────────────────────────
 
     /**
@@ -67,25 +214,122 @@ public interface SoftDeleteRepository<T extends SoftDeletable, ID> extends JpaRe
      */
     List<T> findAllWithTrashed();
 
+    /**
+     * Return a page of entities matching the specification, including
+     * soft-deleted ones. Filtering, sorting and paging run in SQL.
+     *
+     * @param spec may be {@code null} to match every row
+     */
+    Page<T> findAllWithTrashed(Specification<T> spec, Pageable pageable);
+
     /**
      * Find an entity by id, including soft-deleted entities.
      * Equivalent to Laravel's {@code withTrashed()->find(id)}.
      */
     Optional<T> findByIdWithTrashed(ID id);
 
+    /**
+     * Check whether an entity with the given id exists, including
+     * soft-deleted entities. Only a {@code COUNT} projection is selected;
+     * the entity is never loaded into the session.
+     */
+    boolean existsByIdWithTrashed(ID id);
+
+    /**
+     * Check whether the entity with the given id exists and is soft-deleted.
+     * Equivalent to Laravel's {@code $model->trashed()} without loading the model.
+     */
+    boolean isTrashed(ID id);
+
     /**
      * Return <b>only</b> soft-deleted entities.
      * Equivalent to Laravel's {@code onlyTrashed()}.
      */
     List<T> findAllTrashed();
 
+    /**
+     * Return a page of soft-deleted entities matching the specification.
+     * Filtering, sorting and paging run in SQL.
+     *
+     * @param spec may be {@code null} to match every trashed row
+     */
+    Page<T> findAllTrashed(Specification<T> spec, Pageable pageable);
+
+    /**
+     * Return the next {@code limit} soft-deleted entities after a cursor,
+     * most recently deleted first ({@code deleted_at DESC, id DESC}).
+     * <p>
+     * Pass the {@code deletedAt} and id of the last entity of the previous
+     * page, or {@code null} for both to start with the newest. Pages are
+     * located with a {@code (deleted_at, id)} seek predicate rather than an
+     * offset, so every page costs the same however deep it is.
+     */
+    List<T> findTrashedAfter(Instant deletedAt, ID lastId, int limit);
+
+    /**
+     * Scroll through soft-deleted entities, most recently deleted first.
+     * Start from {@link ScrollPosition#keyset()} and continue from the
+     * position of the last element of each window:
+     *
+     * <pre>
+     * Window&lt;Post&gt; window = posts.findTrashed(ScrollPosition.keyset(), 50);
+     * while (window.hasNext()) {
+     *     window = posts.findTrashed(window.positionAt(window.size() - 1), 50);
+     * }
+     * </pre>
+     *
+     * Only forward keyset positions are supported.
+     *
+     * @see #findTrashedAfter(Instant, Object, int)
+     */
+    Window<T> findTrashed(ScrollPosition position, int limit);
+
+    /**
+     * Stream every entity, including soft-deleted ones, without loading
+     * the result set into memory.
+     *
+     * @see #streamAllTrashed()
+     */
+    Stream<T> streamAllWithTrashed();
+
+    /**
+     * Stream every soft-deleted entity without loading the result set into
+     * memory.
+     * <p>
+     * Rows are fetched in batches of {@code softdelete.streaming.fetch-size},
+     * and entities already handed out are detached from the session every
+     * {@code softdelete.streaming.detach-interval} rows, so unflushed changes
+     * to them are discarded. Like Spring Data's own {@code Stream} query
+     * methods, this must be called inside a transaction, and the stream must
+     * be closed (e.g. with try-with-resources) to release the JDBC cursor.
+     */
+    Stream<T> streamAllTrashed();
+
+    /**
+     * Return the live and trashed row counts, counted together in a single
+     * query, or served from the counter cache when
+     * {@code softdelete.counters.enabled=true} (which also serves
+     * {@link #count()}, {@link #countTrashed()} and {@link #countWithTrashed()}).
+     */
+    SoftDeleteStats stats();
+
     /**
      * Count all entities including soft-deleted ones.
      */
     long countWithTrashed();
 
+    /**
+     * Count entities matching the specification, including soft-deleted ones.
+     */
+    long countWithTrashed(Specification<T> spec);
+
     /**
      * Count only soft-deleted entities.
      */
     long countTrashed();
+
+    /**
+     * Count soft-deleted entities matching the specification.
+     */
+    long countTrashed(Specification<T> spec);
 }
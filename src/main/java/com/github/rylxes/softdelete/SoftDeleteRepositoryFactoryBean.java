@@ -1,6 +1,11 @@
 package com.github.rylxes.softdelete;
 
+import com.github.rylxes.softdelete.config.SoftDeleteProperties;
+import com.github.rylxes.softdelete.outbox.SoftDeleteOutbox;
+import com.github.rylxes.softdelete.replica.ReplicaReadScope;
 import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.support.JpaEntityInformation;
 import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
@@ -16,26 +21,94 @@ import java.io.Serializable;
  * Custom factory bean that tells Spring Data JPA to use
  * {@link SoftDeleteRepositoryImpl} as the base class for any
  * repository that extends {@link SoftDeleteRepository}.
+ * <p>
+ * The auto-configuration registers repositories with this factory bean;
+ * applications that declare their own {@code @EnableJpaRepositories} must
+ * set it as {@code repositoryFactoryBeanClass}.
  */
 public class SoftDeleteRepositoryFactoryBean<R extends JpaRepository<T, ID>, T, ID extends Serializable>
         extends JpaRepositoryFactoryBean<R, T, ID> {
 
+    private SoftDeleteProperties properties = new SoftDeleteProperties();
+    private ObjectProvider<SoftDeleteInstrumentation> instrumentation;
+    private ObjectProvider<SoftDeleteOutbox> outbox;
+
     public SoftDeleteRepositoryFactoryBean(Class<? extends R> repositoryInterface) {
         super(repositoryInterface);
     }
 
+    /**
+     * Picks up the {@link SoftDeleteProperties} registered by the
+     * auto-configuration, falling back to the defaults when absent.
+     */
+    @Autowired
+    public void setProperties(ObjectProvider<SoftDeleteProperties> properties) {
+        this.properties = properties.getIfAvailable(SoftDeleteProperties::new);
+    }
+
+    /**
+     * Picks up the {@link SoftDeleteInstrumentation} (such as the Micrometer
+     * one registered by the auto-configuration) used to time repository
+     * operations. Resolved when the repository is created.
+     */
+    @Autowired
+    public void setInstrumentation(ObjectProvider<SoftDeleteInstrumentation> instrumentation) {
+        this.instrumentation = instrumentation;
+    }
+
+    /**
+     * Picks up the {@link SoftDeleteOutbox} that repositories write change
+     * events to, registered when {@code softdelete.outbox.enabled=true}.
+     * Resolved when the repository is created.
+     */
+    @Autowired
+    public void setOutbox(ObjectProvider<SoftDeleteOutbox> outbox) {
+        this.outbox = outbox;
+    }
+
     @Override
     protected RepositoryFactorySupport createRepositoryFactory(EntityManager entityManager) {
-        return new SoftDeleteRepositoryFactory(entityManager);
+        SoftDeleteInstrumentation resolved = instrumentation == null
+                ? SoftDeleteInstrumentation.NONE
+                : instrumentation.getIfAvailable(() -> SoftDeleteInstrumentation.NONE);
+        SoftDeleteRepositoryFactory factory = new SoftDeleteRepositoryFactory(entityManager, properties, resolved,
+                outbox == null ? null : outbox.getIfAvailable());
+        if (properties.isFilterInterceptor()) {
+            factory.addRepositoryProxyPostProcessor((proxyFactory, information) ->
+                    proxyFactory.addAdvice(new SoftDeleteFilterInterceptor(entityManager, resolved)));
+        }
+        if (properties.getReplica().isEnabled()) {
+            factory.addRepositoryProxyPostProcessor((proxyFactory, information) -> {
+                if (SoftDeleteRepository.class.isAssignableFrom(information.getRepositoryInterface())) {
+                    proxyFactory.addAdvice(new ReplicaReadScope());
+                }
+            });
+        }
+        if (resolved != SoftDeleteInstrumentation.NONE) {
+            factory.addRepositoryProxyPostProcessor((proxyFactory, information) -> {
+                if (SoftDeleteRepository.class.isAssignableFrom(information.getRepositoryInterface())) {
+                    proxyFactory.addAdvice(new SoftDeleteInstrumentationInterceptor(
+                            information.getDomainType(), resolved));
+                }
+            });
+        }
+        return factory;
     }
 
     private static class SoftDeleteRepositoryFactory extends JpaRepositoryFactory {
 
         private final EntityManager entityManager;
+        private final SoftDeleteProperties properties;
+        private final SoftDeleteInstrumentation instrumentation;
+        private final SoftDeleteOutbox outbox;
 
-        public SoftDeleteRepositoryFactory(EntityManager entityManager) {
+        public SoftDeleteRepositoryFactory(EntityManager entityManager, SoftDeleteProperties properties,
+                SoftDeleteInstrumentation instrumentation, SoftDeleteOutbox outbox) {
             super(entityManager);
             this.entityManager = entityManager;
+            this.properties = properties;
+            this.instrumentation = instrumentation;
+            this.outbox = outbox;
         }
 
         @Override
@@ -46,7 +119,11 @@ public class SoftDeleteRepositoryFactoryBean<R extends JpaRepository<T, ID>, T,
             // Only use our custom impl for repos that extend SoftDeleteRepository
             if (SoftDeleteRepository.class.isAssignableFrom(information.getRepositoryInterface())) {
                 JpaEntityInformation<?, ?> entityInformation = getEntityInformation(information.getDomainType());
-                return new SoftDeleteRepositoryImpl(entityInformation, em);
+                SoftDeleteRepositoryImpl<?, ?> repository =
+                        new SoftDeleteRepositoryImpl(entityInformation, em, properties);
+                repository.setInstrumentation(instrumentation);
+                repository.setOutbox(outbox);
+                return repository;
             }
 
             return super.getTargetRepository(information, em);
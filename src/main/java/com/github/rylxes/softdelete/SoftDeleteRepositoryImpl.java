@@ -1,18 +1,49 @@
 package com.github.rylxes.softdelete;
 
+import com.github.rylxes.softdelete.config.SoftDeleteProperties;
+import com.github.rylxes.softdelete.outbox.SoftDeleteEventType;
+import com.github.rylxes.softdelete.outbox.SoftDeleteOutbox;
+import jakarta.persistence.Cache;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.CacheMode;
+import org.hibernate.FlushMode;
 import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.event.spi.CallbackRegistry;
+import org.hibernate.jpa.AvailableHints;
+import org.hibernate.jpa.event.spi.CallbackType;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.query.NativeQuery;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.support.JpaEntityInformation;
 import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.data.repository.core.support.SurroundingTransactionDetectorMethodInterceptor;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
 
 /**
  * Default implementation of {@link SoftDeleteRepository}.
@@ -25,14 +56,92 @@ public class SoftDeleteRepositoryImpl<T extends SoftDeletable, ID>
         extends SimpleJpaRepository<T, ID>
         implements SoftDeleteRepository<T, ID> {
 
+    private static final String NO_SURROUNDING_TRANSACTION = "You're trying to stream a soft-delete scope"
+            + " without a surrounding transaction that keeps the connection open so that the Stream can"
+            + " actually be consumed; make sure the code consuming the stream uses @Transactional or any"
+            + " other way of declaring a (read-only) transaction";
+
     private final EntityManager entityManager;
     private final JpaEntityInformation<T, ?> entityInformation;
+    private final SoftDeleteMetadata metadata;
+    private final SoftDeleteQueries queries;
+    private final SoftDeleteArchive archive;
+    private final SoftDeleteCascades cascades;
+    private final int batchSize;
+    private final boolean updateCallbacks;
+    private final SoftDeleteProperties.Streaming streaming;
+    private final SoftDeleteProperties.FlushMode flushMode;
+    private final Specification<T> trashed;
+    private final SoftDeleteCounters counters;
+    private final SoftDeleteCounters.Counter counter;
+    private final SoftDeleteJdbc statements;
+    private final SoftDeleteJdbc jdbc;
+    private final EntityPersister persister;
+    private final boolean checkVersion;
+    private final boolean jdbcEvict;
+    private SoftDeleteInstrumentation instrumentation = SoftDeleteInstrumentation.NONE;
+    private SoftDeleteOutbox outbox;
 
     public SoftDeleteRepositoryImpl(JpaEntityInformation<T, ?> entityInformation,
             EntityManager entityManager) {
+        this(entityInformation, entityManager, new SoftDeleteProperties());
+    }
+
+    public SoftDeleteRepositoryImpl(JpaEntityInformation<T, ?> entityInformation,
+            EntityManager entityManager, SoftDeleteProperties properties) {
         super(entityInformation, entityManager);
         this.entityManager = entityManager;
         this.entityInformation = entityInformation;
+        SoftDeleteRegistry registry = SoftDeleteRegistry.of(entityManager.getEntityManagerFactory());
+        this.metadata = registry.get(entityInformation.getJavaType());
+        this.queries = SoftDeleteQueries.register(entityManager.getEntityManagerFactory(), metadata);
+        this.cascades = SoftDeleteCascades.register(entityManager.getEntityManagerFactory(), registry, metadata);
+        this.archive = new SoftDeleteArchive(metadata, properties.getArchive().getTableSuffix(),
+                properties.getArchive().isCreateTable());
+        this.trashed = (root, query, builder) -> builder.isNotNull(root.get(metadata.attribute()));
+        this.batchSize = Math.max(1, properties.getBatchSize());
+        this.streaming = properties.getStreaming();
+        this.flushMode = properties.getFlushMode();
+        this.checkVersion = properties.isCheckVersion();
+        this.persister = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(entityInformation.getJavaType());
+        this.updateCallbacks = hasUpdateCallbacks(entityManager, entityInformation.getJavaType());
+        this.counters = registry.counters();
+        this.counter = properties.getCounters().isEnabled()
+                ? counters.register(metadata.javaType(), properties.getCounters().getReconcileInterval())
+                : null;
+        // Single-row transitions always run over JDBC; the rest only with
+        // the JDBC engine enabled.
+        this.statements = new SoftDeleteJdbc(entityManager.getEntityManagerFactory(), metadata, batchSize);
+        this.jdbc = properties.getJdbc().isEnabled() ? statements : null;
+        this.jdbcEvict = jdbc != null
+                && properties.getJdbc().getConsistency() == SoftDeleteProperties.Jdbc.Consistency.EVICT;
+    }
+
+    private static boolean hasUpdateCallbacks(EntityManager entityManager, Class<?> domainType) {
+        CallbackRegistry callbacks = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getEventEngine()
+                .getCallbackRegistry();
+        return callbacks.hasRegisteredCallbacks(domainType, CallbackType.PRE_UPDATE)
+                || callbacks.hasRegisteredCallbacks(domainType, CallbackType.POST_UPDATE);
+    }
+
+    /**
+     * Configures the {@link SoftDeleteInstrumentation} notified when this
+     * repository toggles the soft-delete filter.
+     */
+    public void setInstrumentation(SoftDeleteInstrumentation instrumentation) {
+        this.instrumentation = instrumentation;
+    }
+
+    /**
+     * Configures the {@link SoftDeleteOutbox} that soft-delete, restore and
+     * force-delete events are written to, or {@code null} for none.
+     */
+    public void setOutbox(SoftDeleteOutbox outbox) {
+        this.outbox = outbox;
     }
 
     // ── Filter helpers ─────────────────────────────────────────
@@ -45,6 +154,7 @@ public class SoftDeleteRepositoryImpl<T extends SoftDeletable, ID>
         Session session = getSession();
         if (session.getEnabledFilter(SoftDeletableEntity.FILTER_NAME) == null) {
             session.enableFilter(SoftDeletableEntity.FILTER_NAME);
+            instrumentation.filterToggled("repository", true);
         }
     }
 
@@ -52,9 +162,133 @@ public class SoftDeleteRepositoryImpl<T extends SoftDeletable, ID>
         Session session = getSession();
         if (session.getEnabledFilter(SoftDeletableEntity.FILTER_NAME) != null) {
             session.disableFilter(SoftDeletableEntity.FILTER_NAME);
+            instrumentation.filterToggled("repository", false);
+        }
+    }
+
+    // ── Flush policy ───────────────────────────────────────────
+
+    /**
+     * Flush the write of a single-entity operation as the configured
+     * {@link SoftDeleteProperties.FlushMode} dictates.
+     */
+    private void flushWrite() {
+        if (flushMode == SoftDeleteProperties.FlushMode.IMMEDIATE
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            entityManager.flush();
+            return;
+        }
+        if (flushMode == SoftDeleteProperties.FlushMode.BATCHED && PendingWrites.add() % batchSize == 0) {
+            Session session = getSession();
+            Integer previousBatchSize = session.getJdbcBatchSize();
+            session.setJdbcBatchSize(batchSize);
+            try {
+                entityManager.flush();
+            } finally {
+                session.setJdbcBatchSize(previousBatchSize);
+            }
+        }
+    }
+
+    /**
+     * The number of unflushed single-entity writes of one transaction,
+     * looked up among its synchronizations so that a suspended outer
+     * transaction keeps its own count.
+     */
+    private static final class PendingWrites implements TransactionSynchronization {
+
+        private int count;
+
+        static int add() {
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                if (synchronization instanceof PendingWrites pending) {
+                    return ++pending.count;
+                }
+            }
+            PendingWrites pending = new PendingWrites();
+            TransactionSynchronizationManager.registerSynchronization(pending);
+            return ++pending.count;
+        }
+    }
+
+    // ── JDBC engine ────────────────────────────────────────────
+
+    /**
+     * Returns the session to run a JDBC statement on, flushing it first
+     * unless consistency with the session was waived.
+     */
+    private Session jdbcSession() {
+        Session session = getSession();
+        if (jdbcEvict && session.getHibernateFlushMode() != FlushMode.MANUAL) {
+            session.flush();
+        }
+        return session;
+    }
+
+    /**
+     * Bring managed instances of the given ids in step with a soft delete
+     * or restore: updated in place after JPQL, evicted after JDBC.
+     */
+    private void syncManaged(List<?> ids, Instant deletedAt) {
+        if (jdbc == null) {
+            ManagedEntities.syncDeletedAt(entityManager, getDomainClass(), metadata.attribute(), ids, deletedAt);
+        } else if (jdbcEvict) {
+            evict(ids);
         }
     }
 
+    /**
+     * Evict the given ids (or every instance, for {@code null}) from the
+     * session and the second-level cache. The cache region is invalidated
+     * at commit anyway; evicting the entries now also keeps this
+     * transaction from reading them back.
+     */
+    private void evict(List<?> ids) {
+        ManagedEntities.evict(entityManager, getDomainClass(), ids);
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        if (ids == null) {
+            cache.evict(getDomainClass());
+        } else {
+            ids.forEach(id -> cache.evict(getDomainClass(), id));
+        }
+    }
+
+    // ── Outbox and counters ────────────────────────────────────
+
+    /**
+     * Write one outbox event per id in the current transaction, if an
+     * outbox is configured.
+     */
+    private void publish(SoftDeleteMetadata entity, List<?> ids, SoftDeleteEventType type, Instant occurredAt) {
+        if (outbox != null) {
+            outbox.append(getSession(), entity.entityName(), ids, type, occurredAt);
+        }
+    }
+
+    /**
+     * Adjust the cached counts of this entity once the transaction commits.
+     */
+    private void adjustCounts(long live, long trashed) {
+        counters.adjust(counter, live, trashed);
+    }
+
+    /**
+     * Publishes and counts the rows changed at each level of a cascade.
+     */
+    private BiConsumer<SoftDeleteMetadata, List<?>> cascaded(SoftDeleteEventType type, Instant occurredAt) {
+        int deleted = type == SoftDeleteEventType.SOFT_DELETED ? 1 : -1;
+        return (child, childIds) -> {
+            publish(child, childIds, type, occurredAt);
+            counters.adjust(counters.get(child.javaType()), -deleted * childIds.size(), deleted * childIds.size());
+        };
+    }
+
+    private List<?> idsIn(String queryName, List<?> ids) {
+        return entityManager.createNamedQuery(queryName)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
     // ── Override standard query methods to auto-filter ──────────
 
     @Override
@@ -88,26 +322,31 @@ public class SoftDeleteRepositoryImpl<T extends SoftDeletable, ID>
     @Override
     @Transactional(readOnly = true)
     public Optional<T> findById(ID id) {
-        enableFilter();
-        // Use JPQL instead of EntityManager.find() because Hibernate filters
-        // only apply to queries, not direct entity lookups.
-        String jpql = "SELECT e FROM " + entityInformation.getEntityName()
-                + " e WHERE e." + entityInformation.getIdAttribute().getName() + " = :id";
-        List<T> results = entityManager.createQuery(jpql, entityInformation.getJavaType())
-                .setParameter("id", id)
-                .getResultList();
-        return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
+        // Hibernate filters don't apply to entity lookups, so check the
+        // loaded state instead. This lets the lookup be served from the
+        // persistence context or the second-level cache; soft-delete
+        // statements keep both in step (see ManagedEntities, the per-row
+        // eviction of SoftDeleteJdbc.transition, and Hibernate's region
+        // invalidation for bulk UPDATEs).
+        return super.findById(id).filter(entity -> !entity.isDeleted());
     }
 
     @Override
     @Transactional(readOnly = true)
     public boolean existsById(ID id) {
-        return findById(id).isPresent();
+        if (jdbc != null) {
+            return jdbc.existsById(jdbcSession(), id);
+        }
+        // COUNT projection on the primary key: nothing is hydrated into the session.
+        return countById(queries.existsById(), id) > 0;
     }
 
     @Override
     @Transactional(readOnly = true)
     public long count() {
+        if (counter != null) {
+            return stats().live();
+        }
         enableFilter();
         return super.count();
     }
@@ -147,12 +386,26 @@ public class SoftDeleteRepositoryImpl<T extends SoftDeletable, ID>
         return super.exists(example);
     }
 
+    @Override
+    @Transactional
+    public <S extends T> S save(S entity) {
+        if (counter != null && entityInformation.isNew(entity)) {
+            adjustCounts(entity.isDeleted() ? 0 : 1, entity.isDeleted() ? 1 : 0);
+        }
+        return super.save(entity);
+    }
+
     // ── Override delete to soft-delete by default ───────────────
 
     @Override
     @Transactional
     public void delete(T entity) {
-        softDelete(entity);
+        Object id = entityInformation.getId(entity);
+        if (id == null) {
+            softDeleteNew(entity);
+        } else {
+            softDeleteOne(id, expectedVersion(entity), entity);
+        }
     }
 
     @Override
@@ -161,53 +414,426 @@ public class SoftDeleteRepositoryImpl<T extends SoftDeletable, ID>
         softDeleteById(id);
     }
 
+    @Override
+    @Transactional
+    public void deleteAllById(Iterable<? extends ID> ids) {
+        softDeleteAllById(ids);
+    }
+
     @Override
     @Transactional
     public void deleteAll(Iterable<? extends T> entities) {
-        entities.forEach(this::softDelete);
+        Instant now = Instant.now();
+        List<T> deleted = new ArrayList<>();
+        List<Object> ids = new ArrayList<>();
+        for (T entity : entities) {
+            Object id = entityInformation.getId(entity);
+            if (id != null) {
+                deleted.add(entity);
+                ids.add(id);
+            }
+        }
+        // Stamp the caller's copies only afterwards, as restoreAll does.
+        softDeleteIds(ids, now);
+        deleted.stream().filter(entity -> !entity.isDeleted()).forEach(entity -> entity.setDeletedAt(now));
     }
 
     @Override
     @Transactional
     public void deleteAll() {
-        findAll().forEach(this::softDelete);
+        softDeleteAll();
     }
 
     // ── Soft Delete ────────────────────────────────────────────
 
     @Override
     @Transactional
-    public void softDelete(T entity) {
-        entity.setDeletedAt(Instant.now());
-        entityManager.merge(entity);
-        entityManager.flush();
+    public boolean softDelete(T entity) {
+        Object id = entityInformation.getId(entity);
+        if (id == null) {
+            return softDeleteNew(entity);
+        }
+        return softDeleteOne(id, expectedVersion(entity), entity);
     }
 
     @Override
     @Transactional
-    public void softDeleteById(ID id) {
+    public boolean softDeleteById(ID id) {
+        return softDeleteOne(id, null, null);
+    }
+
+    private boolean softDeleteOne(Object id, Object expectedVersion, T copy) {
+        Instant now = Instant.now();
         disableFilter();
         try {
-            findById(id).ifPresent(this::softDelete);
+            if (!transition(id, expectedVersion, now, copy)) {
+                return false;
+            }
         } finally {
             enableFilter();
         }
+        publish(metadata, List.of(id), SoftDeleteEventType.SOFT_DELETED, now);
+        adjustCounts(-1, 1);
+        if (!cascades.isEmpty()) {
+            cascades.softDelete(entityManager, List.of(id), now, batchSize,
+                    cascaded(SoftDeleteEventType.SOFT_DELETED, now));
+        }
+        return true;
+    }
+
+    /**
+     * Insert a new entity already soft-deleted, leaving the write to the
+     * configured flush unless its generated id is needed now.
+     */
+    private boolean softDeleteNew(T entity) {
+        Instant now = Instant.now();
+        entity.setDeletedAt(now);
+        T managed = entityManager.merge(entity);
+        flushWrite();
+        Object id = entityInformation.getId(managed);
+        if (id == null) {
+            // Generated on insert: the events and cascade need it now.
+            entityManager.flush();
+            id = entityInformation.getId(managed);
+        }
+        List<Object> ids = List.of(id);
+        adjustCounts(0, 1);
+        publish(metadata, ids, SoftDeleteEventType.SOFT_DELETED, now);
+        if (!cascades.isEmpty()) {
+            cascades.softDelete(entityManager, ids, now, batchSize, cascaded(SoftDeleteEventType.SOFT_DELETED, now));
+        }
+        return true;
+    }
+
+    /**
+     * Compare-and-set the soft-delete column of one row: stamp it if it is
+     * live, or clear it if it is trashed, and if {@code expectedVersion} is
+     * given only while the row has that version. Nothing else is written
+     * but the version, which versioned entities bump. The statement runs
+     * over JDBC after flushing the session, so only this row leaves the
+     * second-level cache rather than the whole region. On success, managed
+     * instances and the caller's copy are brought in step. The filter must
+     * be disabled.
+     *
+     * @param deletedAt the timestamp to stamp, or {@code null} to restore
+     * @param copy      the caller's copy of the entity, or {@code null}
+     * @return whether this call changed the row
+     */
+    private boolean transition(Object id, Object expectedVersion, Instant deletedAt, T copy) {
+        Session session = getSession();
+        if (session.getHibernateFlushMode() != FlushMode.MANUAL) {
+            session.flush();
+        }
+        if (!statements.transition(session, id, expectedVersion, deletedAt)) {
+            return false;
+        }
+
+        ManagedEntities.syncDeletedAt(entityManager, getDomainClass(), metadata.attribute(), List.of(id), deletedAt);
+        if (copy != null) {
+            copy.setDeletedAt(deletedAt);
+        }
+        if (metadata.version() != null) {
+            Object version = entityManager.createNamedQuery(queries.versionById())
+                    .setParameter("id", id)
+                    .getSingleResult();
+            ManagedEntities.syncVersion(entityManager, getDomainClass(), id, version);
+            if (copy != null && !entityManager.contains(copy)) {
+                persister.setValue(copy, persister.getVersionProperty(), version);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the version a transition of the caller's copy must match, or
+     * {@code null} when versions are not checked.
+     */
+    private Object expectedVersion(T entity) {
+        return checkVersion && metadata.version() != null ? persister.getVersion(entity) : null;
+    }
+
+    @Override
+    @Transactional
+    public long softDeleteAllById(Iterable<? extends ID> ids) {
+        List<Object> idList = new ArrayList<>();
+        ids.forEach(idList::add);
+        return softDeleteIds(idList, Instant.now());
+    }
+
+    @Override
+    @Transactional
+    public long softDeleteAll(Specification<T> spec) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object> query = builder.createQuery(Object.class);
+        Root<T> root = query.from(getDomainClass());
+
+        Predicate live = builder.isNull(root.get(metadata.attribute()));
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, builder);
+        query.select(root.get(entityInformation.getIdAttribute().getName()))
+                .where(predicate == null ? live : builder.and(predicate, live));
+
+        return softDeleteIds(entityManager.createQuery(query).getResultList(), Instant.now());
+    }
+
+    @Override
+    @Transactional
+    public long softDeleteAll() {
+        if (outbox != null || !cascades.isEmpty()) {
+            // Events and cascades need the ids, so go through the id projection.
+            return softDeleteAll((Specification<T>) null);
+        }
+        Instant now = Instant.now();
+        int updated = jdbc != null
+                ? jdbc.softDeleteAll(jdbcSession(), now)
+                : entityManager.createNamedQuery(queries.softDeleteAll())
+                        .setParameter("deletedAt", now)
+                        .executeUpdate();
+        syncManaged(null, now);
+        adjustCounts(-updated, updated);
+        return updated;
+    }
+
+    /**
+     * Stamp {@code deletedAt} on the given ids with chunked
+     * {@code UPDATE ... WHERE id IN (...)} statements sharing one timestamp.
+     */
+    private long softDeleteIds(List<?> ids, Instant deletedAt) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        long updated = 0;
+        List<Object> changed = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<?> chunk = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            if (outbox != null || !cascades.isEmpty()) {
+                changed.addAll(idsIn(queries.liveIds(), chunk));
+            }
+            updated += jdbc != null
+                    ? jdbc.softDelete(jdbcSession(), chunk, deletedAt)
+                    : entityManager.createNamedQuery(queries.softDeleteAllById())
+                            .setParameter("deletedAt", deletedAt)
+                            .setParameter("ids", chunk)
+                            .executeUpdate();
+        }
+        syncManaged(ids, deletedAt);
+        publish(metadata, changed, SoftDeleteEventType.SOFT_DELETED, deletedAt);
+        adjustCounts(-updated, updated);
+        if (!cascades.isEmpty() && !changed.isEmpty()) {
+            cascades.softDelete(entityManager, changed, deletedAt, batchSize,
+                    cascaded(SoftDeleteEventType.SOFT_DELETED, deletedAt));
+        }
+        return updated;
     }
 
     // ── Restore ────────────────────────────────────────────────
 
     @Override
     @Transactional
-    public void restore(T entity) {
+    public boolean restore(T entity) {
+        Object id = entityInformation.getId(entity);
+        if (id == null) {
+            return restoreNew(entity);
+        }
+        return restoreOne(id, expectedVersion(entity), entity);
+    }
+
+    @Override
+    @Transactional
+    public boolean restoreById(ID id) {
+        return restoreOne(id, null, null);
+    }
+
+    private boolean restoreOne(Object id, Object expectedVersion, T copy) {
+        disableFilter();
+        try {
+            Instant deletedAt = cascades.isEmpty() ? null : storedDeletedAt(id);
+            if (!transition(id, expectedVersion, null, copy)) {
+                return false;
+            }
+            if (deletedAt != null) {
+                restored(List.of(id), deletedAt);
+            } else {
+                publish(metadata, List.of(id), SoftDeleteEventType.RESTORED, Instant.now());
+                adjustCounts(1, -1);
+            }
+            return true;
+        } finally {
+            enableFilter();
+        }
+    }
+
+    /**
+     * Insert a new entity live, leaving the write to the configured flush.
+     */
+    private boolean restoreNew(T entity) {
         entity.setDeletedAt(null);
         entityManager.merge(entity);
-        entityManager.flush();
+        flushWrite();
+        adjustCounts(1, 0);
+        return true;
     }
 
     @Override
     @Transactional
-    public void restoreById(ID id) {
-        findByIdWithTrashed(id).ifPresent(this::restore);
+    public long restoreAll(Iterable<? extends T> entities) {
+        List<T> restored = new ArrayList<>();
+        List<Object> ids = new ArrayList<>();
+        for (T entity : entities) {
+            Object id = entityInformation.getId(entity);
+            if (id != null) {
+                restored.add(entity);
+                ids.add(id);
+            }
+        }
+        // Clear the caller's copies only afterwards: dirty managed instances
+        // would otherwise be auto-flushed ahead of the statements and missed
+        // by the count.
+        long updated = restoreIds(ids);
+        restored.forEach(entity -> entity.setDeletedAt(null));
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public long restoreAllById(Iterable<? extends ID> ids) {
+        List<Object> idList = new ArrayList<>();
+        ids.forEach(idList::add);
+        return restoreIds(idList);
+    }
+
+    @Override
+    @Transactional
+    public long restoreAll(Specification<T> spec) {
+        disableFilter();
+        try {
+            CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+            CriteriaQuery<Object> query = builder.createQuery(Object.class);
+            Root<T> root = query.from(getDomainClass());
+
+            Predicate trashed = builder.isNotNull(root.get(metadata.attribute()));
+            Predicate predicate = spec == null ? null : spec.toPredicate(root, query, builder);
+            query.select(root.get(entityInformation.getIdAttribute().getName()))
+                    .where(predicate == null ? trashed : builder.and(predicate, trashed));
+
+            return restoreIds(entityManager.createQuery(query).getResultList());
+        } finally {
+            enableFilter();
+        }
+    }
+
+    /**
+     * Clear {@code deletedAt} on the given ids, chunked by the batch size:
+     * with set-based {@code UPDATE}s, or through the persistence context
+     * (batched by JDBC) when the entity has update callbacks to fire.
+     */
+    private long restoreIds(List<?> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        disableFilter();
+        try {
+            long updated = updateCallbacks ? restoreManaged(ids) : restoreBulk(ids);
+            adjustCounts(updated, -updated);
+            return updated;
+        } finally {
+            enableFilter();
+        }
+    }
+
+    private long restoreBulk(List<?> ids) {
+        long updated = 0;
+        List<Object> changed = new ArrayList<>();
+        Map<Instant, List<Object>> byDeletedAt = new LinkedHashMap<>();
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<?> chunk = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            if (!cascades.isEmpty()) {
+                List<Object[]> trashed = entityManager.createNamedQuery(queries.trashedDeletedAt(), Object[].class)
+                        .setParameter("ids", chunk)
+                        .getResultList();
+                for (Object[] row : trashed) {
+                    changed.add(row[0]);
+                    byDeletedAt.computeIfAbsent((Instant) row[1], key -> new ArrayList<>()).add(row[0]);
+                }
+            } else if (outbox != null) {
+                changed.addAll(idsIn(queries.trashedIds(), chunk));
+            }
+            updated += jdbc != null
+                    ? jdbc.restore(jdbcSession(), chunk)
+                    : entityManager.createNamedQuery(queries.restoreAllById())
+                            .setParameter("ids", chunk)
+                            .executeUpdate();
+        }
+        syncManaged(ids, null);
+        publish(metadata, changed, SoftDeleteEventType.RESTORED, Instant.now());
+        restoreCascades(byDeletedAt);
+        return updated;
+    }
+
+    private long restoreManaged(List<?> ids) {
+        Session session = getSession();
+        Integer previousBatchSize = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(batchSize);
+        try {
+            long updated = 0;
+            for (int from = 0; from < ids.size(); from += batchSize) {
+                List<?> chunk = ids.subList(from, Math.min(from + batchSize, ids.size()));
+                List<T> trashed = entityManager.createNamedQuery(queries.findTrashedByIds(), getDomainClass())
+                        .setParameter("ids", chunk)
+                        .getResultList();
+                Map<Instant, List<Object>> byDeletedAt = new LinkedHashMap<>();
+                for (T entity : trashed) {
+                    byDeletedAt.computeIfAbsent(entity.getDeletedAt(), key -> new ArrayList<>())
+                            .add(entityInformation.getId(entity));
+                    entity.setDeletedAt(null);
+                }
+                entityManager.flush();
+                publish(metadata, trashed.stream().map(entityInformation::getId).toList(),
+                        SoftDeleteEventType.RESTORED, Instant.now());
+                restoreCascades(byDeletedAt);
+                updated += trashed.size();
+            }
+            return updated;
+        } finally {
+            session.setJdbcBatchSize(previousBatchSize);
+        }
+    }
+
+    /**
+     * Restore the cascaded descendants of restored parents, grouped by the
+     * timestamp the parents were soft-deleted at.
+     */
+    private void restoreCascades(Map<Instant, List<Object>> byDeletedAt) {
+        if (cascades.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        byDeletedAt.forEach((deletedAt, ids) -> cascades.restore(entityManager, ids, deletedAt, batchSize,
+                cascaded(SoftDeleteEventType.RESTORED, now)));
+    }
+
+    /**
+     * Publish the restore of the given ids, which were soft-deleted at
+     * {@code deletedAt}, and restore their cascaded descendants.
+     */
+    private void restored(List<?> ids, Instant deletedAt) {
+        Instant now = Instant.now();
+        publish(metadata, ids, SoftDeleteEventType.RESTORED, now);
+        adjustCounts(ids.size(), -ids.size());
+        if (!cascades.isEmpty()) {
+            cascades.restore(entityManager, ids, deletedAt, batchSize, cascaded(SoftDeleteEventType.RESTORED, now));
+        }
+    }
+
+    /**
+     * Read the soft-delete timestamp as stored, i.e. at the database's
+     * precision, so it can be matched against cascaded children. The
+     * filter must be disabled.
+     */
+    private Instant storedDeletedAt(Object id) {
+        List<Instant> stored = entityManager.createNamedQuery(queries.deletedAtById(), Instant.class)
+                .setParameter("id", id)
+                .getResultList();
+        return stored.isEmpty() ? null : stored.get(0);
     }
 
     // ── Force Delete ───────────────────────────────────────────
@@ -221,7 +847,10 @@ public class SoftDeleteRepositoryImpl<T extends SoftDeletable, ID>
                     ? entity
                     : entityManager.merge(entity);
             entityManager.remove(managed);
-            entityManager.flush();
+            flushWrite();
+            adjustCounts(managed.isDeleted() ? 0 : -1, managed.isDeleted() ? -1 : 0);
+            publish(metadata, List.of(entityInformation.getId(managed)), SoftDeleteEventType.FORCE_DELETED,
+                    Instant.now());
         } finally {
             enableFilter();
         }
@@ -234,13 +863,172 @@ public class SoftDeleteRepositoryImpl<T extends SoftDeletable, ID>
         try {
             super.findById(id).ifPresent(e -> {
                 entityManager.remove(entityManager.contains(e) ? e : entityManager.merge(e));
-                entityManager.flush();
+                flushWrite();
+                adjustCounts(e.isDeleted() ? 0 : -1, e.isDeleted() ? -1 : 0);
+                publish(metadata, List.of(id), SoftDeleteEventType.FORCE_DELETED, Instant.now());
             });
         } finally {
             enableFilter();
         }
     }
 
+    @Override
+    @Transactional
+    public List<ID> purgeTrashed(Instant deletedBefore, ID afterId, int limit) {
+        disableFilter();
+        try {
+            ID after = afterId;
+            while (true) {
+                List<ID> ids = trashedBefore(deletedBefore, after, limit);
+                if (ids.isEmpty()) {
+                    return ids;
+                }
+
+                int deleted = deleteTrashedBefore(ids, deletedBefore);
+                adjustCounts(0, -deleted);
+                if (deleted == ids.size()) {
+                    return ids;
+                }
+
+                // Some candidates were restored between the SELECT and the DELETE.
+                List<ID> purged = withoutExisting(ids);
+                if (!purged.isEmpty()) {
+                    return purged;
+                }
+                after = ids.get(ids.size() - 1);
+            }
+        } finally {
+            enableFilter();
+        }
+    }
+
+    // ── Archive ────────────────────────────────────────────────
+
+    @Override
+    @Transactional
+    public List<ID> archiveTrashed(Instant deletedBefore, ID afterId, int limit) {
+        archive.prepare(entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class));
+        disableFilter();
+        try {
+            ID after = afterId;
+            while (true) {
+                List<ID> ids = trashedBefore(deletedBefore, after, limit);
+                if (ids.isEmpty()) {
+                    return ids;
+                }
+
+                entityManager.createNativeQuery(archive.archiveByIds())
+                        .unwrap(NativeQuery.class)
+                        .addSynchronizedQuerySpace(archive.table())
+                        .setParameter("ids", ids)
+                        .setParameter("cutoff", deletedBefore)
+                        .executeUpdate();
+                int deleted = deleteTrashedBefore(ids, deletedBefore);
+                adjustCounts(0, -deleted);
+                if (deleted == ids.size()) {
+                    return ids;
+                }
+
+                // Some candidates were restored between the copy and the DELETE:
+                // drop their archived copies so they only exist in the entity table.
+                entityManager.createNativeQuery(archive.deleteArchivedLive())
+                        .unwrap(NativeQuery.class)
+                        .addSynchronizedQuerySpace(archive.table())
+                        .setParameter("ids", ids)
+                        .executeUpdate();
+                List<ID> archived = withoutExisting(ids);
+                if (!archived.isEmpty()) {
+                    return archived;
+                }
+                after = ids.get(ids.size() - 1);
+            }
+        } finally {
+            enableFilter();
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @SuppressWarnings("unchecked")
+    public Optional<T> findArchivedById(ID id) {
+        if (!archive.exists(getSession())) {
+            return Optional.empty();
+        }
+        // The archived row shares the live row's id: keep it out of the
+        // second-level cache, where entity lookups would find it.
+        List<T> results = entityManager.createNativeQuery(archive.findById(), getDomainClass())
+                .unwrap(NativeQuery.class)
+                .setCacheMode(CacheMode.IGNORE)
+                .setParameter("id", id)
+                .getResultList();
+        results.forEach(entityManager::detach);
+        return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
+    }
+
+    @Override
+    @Transactional
+    public boolean restoreFromArchive(ID id) {
+        if (!archive.exists(getSession())) {
+            return false;
+        }
+        int restored = entityManager.createNativeQuery(archive.restoreById())
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(getDomainClass())
+                .setParameter("id", id)
+                .executeUpdate();
+        if (restored == 0) {
+            return false;
+        }
+        entityManager.createNativeQuery(archive.deleteById())
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(archive.table())
+                .setParameter("id", id)
+                .executeUpdate();
+        adjustCounts(1, 0);
+        publish(metadata, List.of(id), SoftDeleteEventType.RESTORED, Instant.now());
+        return true;
+    }
+
+    /**
+     * Select up to {@code limit} ids trashed before the cutoff, in id order
+     * after {@code after}. The filter must be disabled.
+     */
+    @SuppressWarnings("unchecked")
+    private List<ID> trashedBefore(Instant deletedBefore, ID after, int limit) {
+        Query candidates = after == null
+                ? entityManager.createNamedQuery(queries.purgeCandidates())
+                : entityManager.createNamedQuery(queries.purgeCandidatesAfter()).setParameter("after", after);
+        return candidates
+                .setParameter("cutoff", deletedBefore)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private int deleteTrashedBefore(List<ID> ids, Instant deletedBefore) {
+        if (jdbc != null) {
+            int deleted = jdbc.purge(jdbcSession(), ids, deletedBefore);
+            if (jdbcEvict) {
+                evict(ids);
+            }
+            return deleted;
+        }
+        return entityManager.createNamedQuery(queries.purgeByIds())
+                .setParameter("ids", ids)
+                .setParameter("cutoff", deletedBefore)
+                .executeUpdate();
+    }
+
+    /**
+     * Returns the ids that no longer exist in the entity table.
+     */
+    private List<ID> withoutExisting(List<ID> ids) {
+        List<ID> removed = new ArrayList<>(ids);
+        removed.removeAll(entityManager.createNamedQuery(queries.existingIds())
+                .setParameter("ids", ids)
+                .getResultList());
+        return removed;
+    }
+
     // ── Query Scopes ───────────────────────────────────────────
 
     @Override
@@ -254,6 +1042,17 @@ public class SoftDeleteRepositoryImpl<T extends SoftDeletable, ID>
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<T> findAllWithTrashed(Specification<T> spec, Pageable pageable) {
+        disableFilter();
+        try {
+            return super.findAll(spec, pageable);
+        } finally {
+            enableFilter();
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<T> findByIdWithTrashed(ID id) {
@@ -265,23 +1064,150 @@ public class SoftDeleteRepositoryImpl<T extends SoftDeletable, ID>
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public boolean existsByIdWithTrashed(ID id) {
+        disableFilter();
+        try {
+            return countById(queries.existsByIdWithTrashed(), id) > 0;
+        } finally {
+            enableFilter();
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isTrashed(ID id) {
+        disableFilter();
+        try {
+            return countById(queries.isTrashed(), id) > 0;
+        } finally {
+            enableFilter();
+        }
+    }
+
+    private long countById(String queryName, ID id) {
+        return entityManager.createNamedQuery(queryName, Long.class)
+                .setParameter("id", id)
+                .getSingleResult();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<T> findAllTrashed() {
         disableFilter();
         try {
-            String jpql = "SELECT e FROM " + entityInformation.getEntityName()
-                    + " e WHERE e.deletedAt IS NOT NULL";
-            return entityManager.createQuery(jpql, entityInformation.getJavaType())
+            return entityManager.createNamedQuery(queries.findAllTrashed(), getDomainClass())
                     .getResultList();
         } finally {
             enableFilter();
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<T> findAllTrashed(Specification<T> spec, Pageable pageable) {
+        disableFilter();
+        try {
+            return super.findAll(trashed.and(spec), pageable);
+        } finally {
+            enableFilter();
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<T> findTrashedAfter(Instant deletedAt, ID lastId, int limit) {
+        if (deletedAt != null && lastId == null) {
+            throw new IllegalArgumentException("lastId must be given together with deletedAt");
+        }
+        disableFilter();
+        try {
+            TypedQuery<T> query = deletedAt == null
+                    ? entityManager.createNamedQuery(queries.findTrashedFirst(), getDomainClass())
+                    : entityManager.createNamedQuery(queries.findTrashedAfter(), getDomainClass())
+                            .setParameter("deletedAt", deletedAt)
+                            .setParameter("id", lastId);
+            return query.setMaxResults(limit).getResultList();
+        } finally {
+            enableFilter();
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @SuppressWarnings("unchecked")
+    public Window<T> findTrashed(ScrollPosition position, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        Instant deletedAt = null;
+        ID lastId = null;
+        if (!position.isInitial()) {
+            if (!(position instanceof KeysetScrollPosition keyset) || keyset.scrollsBackward()) {
+                throw new IllegalArgumentException("Trashed entities can only be scrolled forward by keyset, not "
+                        + position);
+            }
+            deletedAt = (Instant) keyset.getKeys().get(metadata.attribute());
+            lastId = (ID) keyset.getKeys().get(metadata.idAttribute());
+        }
+
+        // Fetch one extra row to learn whether another window follows.
+        List<T> rows = findTrashedAfter(deletedAt, lastId, limit + 1);
+        boolean hasNext = rows.size() > limit;
+        List<T> items = hasNext ? rows.subList(0, limit) : rows;
+        return Window.from(items, index -> ScrollPosition.forward(Map.of(
+                metadata.attribute(), items.get(index).getDeletedAt(),
+                metadata.idAttribute(), entityInformation.getId(items.get(index)))), hasNext);
+    }
+
+    @Override
+    public Stream<T> streamAllWithTrashed() {
+        return stream(queries.findAllWithTrashed());
+    }
+
+    @Override
+    public Stream<T> streamAllTrashed() {
+        return stream(queries.findAllTrashed());
+    }
+
+    private Stream<T> stream(String queryName) {
+        if (!SurroundingTransactionDetectorMethodInterceptor.INSTANCE.isSurroundingTransactionActive()) {
+            throw new InvalidDataAccessApiUsageException(NO_SURROUNDING_TRANSACTION);
+        }
+
+        Stream<T> rows;
+        disableFilter();
+        try {
+            rows = entityManager.createNamedQuery(queryName, getDomainClass())
+                    .setHint(AvailableHints.HINT_FETCH_SIZE, Math.max(1, streaming.getFetchSize()))
+                    .getResultStream();
+        } finally {
+            enableFilter();
+        }
+
+        // Detach the previous window of rows only once the consumer has moved
+        // past it, so the entity currently being processed stays managed.
+        int detachInterval = Math.max(1, streaming.getDetachInterval());
+        List<T> window = new ArrayList<>(Math.min(detachInterval, 1024));
+        return rows.peek(entity -> {
+            if (window.size() == detachInterval) {
+                window.forEach(entityManager::detach);
+                window.clear();
+            }
+            window.add(entity);
+        });
+    }
+
     @Override
     @Transactional(readOnly = true)
     public long countWithTrashed() {
+        if (counter != null) {
+            return stats().total();
+        }
+        if (jdbc != null) {
+            return jdbc.countWithTrashed(jdbcSession());
+        }
         disableFilter();
         try {
             return super.count();
@@ -293,14 +1219,71 @@ public class SoftDeleteRepositoryImpl<T extends SoftDeletable, ID>
     @Override
     @Transactional(readOnly = true)
     public long countTrashed() {
+        if (counter != null) {
+            return stats().trashed();
+        }
+        if (jdbc != null) {
+            return jdbc.countTrashed(jdbcSession());
+        }
         disableFilter();
         try {
-            String jpql = "SELECT COUNT(e) FROM " + entityInformation.getEntityName()
-                    + " e WHERE e.deletedAt IS NOT NULL";
-            return entityManager.createQuery(jpql, Long.class)
+            return entityManager.createNamedQuery(queries.countTrashed(), Long.class)
                     .getSingleResult();
         } finally {
             enableFilter();
         }
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SoftDeleteStats stats() {
+        if (counter == null || counters.hasPending(counter)) {
+            return countStats();
+        }
+        SoftDeleteStats cached = counter.get();
+        if (cached != null) {
+            return cached;
+        }
+        long version = counter.version();
+        SoftDeleteStats stats = countStats();
+        counter.seed(stats, version);
+        return stats;
+    }
+
+    private SoftDeleteStats countStats() {
+        if (jdbc != null) {
+            return jdbc.stats(jdbcSession());
+        }
+        disableFilter();
+        try {
+            Object[] counts = entityManager.createNamedQuery(queries.stats(), Object[].class).getSingleResult();
+            long total = ((Number) counts[0]).longValue();
+            long trashed = ((Number) counts[1]).longValue();
+            return new SoftDeleteStats(total - trashed, trashed);
+        } finally {
+            enableFilter();
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countWithTrashed(Specification<T> spec) {
+        disableFilter();
+        try {
+            return super.count(spec);
+        } finally {
+            enableFilter();
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countTrashed(Specification<T> spec) {
+        disableFilter();
+        try {
+            return super.count(trashed.and(spec));
+        } finally {
+            enableFilter();
+        }
+    }
 }
@@ -0,0 +1,17 @@
+package com.github.rylxes.softdelete;
+
+/**
+ * Row counts of a soft-deletable entity.
+ *
+ * @param live    rows that are not soft-deleted
+ * @param trashed rows that are soft-deleted
+ */
+public record SoftDeleteStats(long live, long trashed) {
+
+    /**
+     * Total number of rows, live and trashed.
+     */
+    public long total() {
+        return live + trashed;
+    }
+}
@@ -0,0 +1,24 @@
+package com.github.rylxes.softdelete.archive;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Outcome of an archive run.
+ *
+ * @param deletedBefore rows soft-deleted before this instant were eligible
+ * @param archived      rows moved to the archive per entity
+ * @param failures      the error that stopped archiving, per entity
+ * @param elapsed       wall-clock duration of the run
+ */
+public record ArchiveResult(Instant deletedBefore, Map<String, Long> archived, Map<String, Throwable> failures,
+        Duration elapsed) {
+
+    /**
+     * Total number of rows archived across all entities.
+     */
+    public long total() {
+        return archived.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
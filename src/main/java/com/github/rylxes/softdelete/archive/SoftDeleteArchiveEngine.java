@@ -0,0 +1,93 @@
+package com.github.rylxes.softdelete.archive;
+
+import com.github.rylxes.softdelete.SoftDeleteRepository;
+import com.github.rylxes.softdelete.config.SoftDeleteProperties;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.data.repository.support.Repositories;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves rows that have been soft-deleted for longer than
+ * {@code softdelete.archive.retention} into per-table archive tables.
+ * <p>
+ * Every {@link SoftDeleteRepository} in the application context is
+ * archived through {@link SoftDeleteRepository#archiveTrashed}: keyset-ordered
+ * chunks of {@code softdelete.archive.chunk-size} rows, each copied and
+ * deleted in its own short transaction. Entity types are archived one after
+ * another; a failure stops that entity only.
+ */
+public class SoftDeleteArchiveEngine {
+
+    private static final Log logger = LogFactory.getLog(SoftDeleteArchiveEngine.class);
+
+    private final ListableBeanFactory beanFactory;
+    private final SoftDeleteProperties.Archive settings;
+
+    public SoftDeleteArchiveEngine(ListableBeanFactory beanFactory, SoftDeleteProperties properties) {
+        this.beanFactory = beanFactory;
+        this.settings = properties.getArchive();
+    }
+
+    /**
+     * Archive rows soft-deleted longer ago than the configured retention.
+     *
+     * @see #archive(Instant)
+     */
+    public ArchiveResult archive() {
+        return archive(Instant.now().minus(settings.getRetention()));
+    }
+
+    /**
+     * Archive rows soft-deleted before {@code deletedBefore}, blocking until done.
+     */
+    public ArchiveResult archive(Instant deletedBefore) {
+        long start = System.nanoTime();
+        int chunkSize = Math.max(1, settings.getChunkSize());
+        Map<String, Long> archived = new LinkedHashMap<>();
+        Map<String, Throwable> failures = new LinkedHashMap<>();
+
+        findRepositories().forEach((entity, repository) -> {
+            long count = 0;
+            try {
+                Object after = null;
+                while (true) {
+                    List<Object> ids = repository.archiveTrashed(deletedBefore, after, chunkSize);
+                    if (ids.isEmpty()) {
+                        break;
+                    }
+                    count += ids.size();
+                    after = ids.get(ids.size() - 1);
+                }
+            } catch (RuntimeException e) {
+                logger.error("Archiving soft-deleted " + entity + " rows failed", e);
+                failures.put(entity, e);
+            }
+            archived.put(entity, count);
+        });
+
+        ArchiveResult result = new ArchiveResult(deletedBefore, archived, failures,
+                Duration.ofNanos(System.nanoTime() - start));
+        logger.info("Soft-delete archive finished: " + archived);
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, SoftDeleteRepository<?, Object>> findRepositories() {
+        Repositories repositories = new Repositories(beanFactory);
+        Map<String, SoftDeleteRepository<?, Object>> result = new LinkedHashMap<>();
+        for (Class<?> domainType : repositories) {
+            repositories.getRepositoryFor(domainType)
+                    .filter(SoftDeleteRepository.class::isInstance)
+                    .ifPresent(repository -> result.put(domainType.getSimpleName(),
+                            (SoftDeleteRepository<?, Object>) repository));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,150 @@
+package com.github.rylxes.softdelete.async;
+
+import com.github.rylxes.softdelete.SoftDeletable;
+import com.github.rylxes.softdelete.SoftDeleteRepository;
+import com.github.rylxes.softdelete.config.SoftDeleteTaskExecutors;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Hands out {@link AsyncSoftDeleteRepository} facades for the
+ * {@link SoftDeleteRepository} beans of the application context, and runs
+ * the operations submitted through them.
+ * <p>
+ * Operations run on virtual threads where the runtime supports them
+ * (unless an executor bean named {@code softDeleteAsyncExecutor} is
+ * defined), at most {@code softdelete.async.max-concurrency} at a time so
+ * that concurrent fan-out cannot exhaust the connection pool. The permit is
+ * taken before an operation is handed to the executor: once that many are
+ * in flight, submitting blocks the caller instead of starting a thread
+ * that would only wait.
+ * <p>
+ * Each operation runs in its own transaction
+ * ({@link TransactionDefinition#PROPAGATION_REQUIRES_NEW REQUIRES_NEW}),
+ * whichever thread executes it: it never joins a transaction of the
+ * submitting thread, so it does not see that transaction's uncommitted
+ * changes, and it commits or rolls back independently. Entities returned
+ * by a future are detached.
+ */
+public class AsyncSoftDeleteRepositories implements DisposableBean {
+
+    private final ListableBeanFactory beanFactory;
+    private final Executor executor;
+    private final SimpleAsyncTaskExecutor ownExecutor;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final TransactionTemplate readWrite;
+    private final TransactionTemplate readOnly;
+    private final Map<Object, AsyncSoftDeleteRepository<?, ?>> facades = new ConcurrentHashMap<>();
+    private volatile Repositories repositories;
+
+    /**
+     * @param executor       the executor to run operations on, or {@code null}
+     *                       to create one
+     * @param maxConcurrency maximum number of operations running at once
+     * @param virtualThreads whether a created executor uses virtual threads
+     */
+    public AsyncSoftDeleteRepositories(ListableBeanFactory beanFactory,
+            PlatformTransactionManager transactionManager, Executor executor, int maxConcurrency,
+            boolean virtualThreads) {
+        this.beanFactory = beanFactory;
+        this.ownExecutor = executor == null
+                ? SoftDeleteTaskExecutors.create("softdelete-async-", virtualThreads)
+                : null;
+        this.executor = executor == null ? ownExecutor : executor;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.permits = new Semaphore(this.maxConcurrency, true);
+
+        this.readWrite = new TransactionTemplate(transactionManager);
+        this.readWrite.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnly.setReadOnly(true);
+    }
+
+    /**
+     * Returns the asynchronous facade of the given repository.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends SoftDeletable, ID> AsyncSoftDeleteRepository<T, ID> of(
+            SoftDeleteRepository<T, ID> repository) {
+        return (AsyncSoftDeleteRepository<T, ID>) facades.computeIfAbsent(repository,
+                key -> new AsyncSoftDeleteRepository<>(this, repository));
+    }
+
+    /**
+     * Returns the asynchronous facade of the soft-delete repository managing
+     * {@code domainType}.
+     *
+     * @throws IllegalArgumentException if no {@link SoftDeleteRepository}
+     *                                  manages the type
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends SoftDeletable, ID> AsyncSoftDeleteRepository<T, ID> of(Class<T> domainType) {
+        Object repository = repositories().getRepositoryFor(domainType)
+                .filter(SoftDeleteRepository.class::isInstance)
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "No SoftDeleteRepository found for " + domainType.getName()));
+        return of((SoftDeleteRepository<T, ID>) repository);
+    }
+
+    /**
+     * Returns the maximum number of operations that run at once.
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    @Override
+    public void destroy() {
+        if (ownExecutor != null) {
+            ownExecutor.close();
+        }
+    }
+
+    <R> CompletableFuture<R> submit(boolean readOnly, Supplier<R> operation) {
+        TransactionTemplate transaction = readOnly ? this.readOnly : readWrite;
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(
+                    new CancellationException("Interrupted while waiting for a soft-delete permit"));
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return transaction.execute(status -> operation.get());
+                } finally {
+                    permits.release();
+                }
+            }, executor);
+        } catch (RuntimeException e) {
+            // Rejected by the executor: the operation will never release it.
+            permits.release();
+            throw e;
+        }
+    }
+
+    private Repositories repositories() {
+        Repositories result = repositories;
+        if (result == null) {
+            result = new Repositories(beanFactory);
+            repositories = result;
+        }
+        return result;
+    }
+}
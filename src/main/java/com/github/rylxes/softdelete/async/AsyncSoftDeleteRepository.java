@@ -0,0 +1,284 @@
+package com.github.rylxes.softdelete.async;
+
+import com.github.rylxes.softdelete.SoftDeletable;
+import com.github.rylxes.softdelete.SoftDeleteRepository;
+import com.github.rylxes.softdelete.SoftDeleteStats;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * {@link CompletableFuture}-returning view of a {@link SoftDeleteRepository},
+ * for fanning operations out across entity types:
+ *
+ * <pre>
+ * AsyncSoftDeleteRepository&lt;Post, Long&gt; posts = asyncRepositories.of(postRepository);
+ * AsyncSoftDeleteRepository&lt;Comment, Long&gt; comments = asyncRepositories.of(commentRepository);
+ * CompletableFuture.allOf(posts.softDeleteById(postId), comments.softDeleteAllById(commentIds)).join();
+ * </pre>
+ *
+ * Every operation runs in its own transaction on the executor of
+ * {@link AsyncSoftDeleteRepositories}; see there for the transaction and
+ * concurrency semantics. Streaming scopes are not offered, since a stream
+ * cannot outlive the transaction it was opened in.
+ *
+ * @param <T>  entity type
+ * @param <ID> primary key type
+ */
+public class AsyncSoftDeleteRepository<T extends SoftDeletable, ID> {
+
+    private final AsyncSoftDeleteRepositories operations;
+    private final SoftDeleteRepository<T, ID> repository;
+
+    AsyncSoftDeleteRepository(AsyncSoftDeleteRepositories operations, SoftDeleteRepository<T, ID> repository) {
+        this.operations = operations;
+        this.repository = repository;
+    }
+
+    /**
+     * Returns the repository this facade delegates to.
+     */
+    public SoftDeleteRepository<T, ID> getRepository() {
+        return repository;
+    }
+
+    /**
+     * Run an arbitrary repository operation in a read-write transaction.
+     */
+    public <R> CompletableFuture<R> execute(Function<? super SoftDeleteRepository<T, ID>, R> operation) {
+        return operations.submit(false, () -> operation.apply(repository));
+    }
+
+    /**
+     * Run an arbitrary repository operation in a read-only transaction.
+     */
+    public <R> CompletableFuture<R> query(Function<? super SoftDeleteRepository<T, ID>, R> operation) {
+        return operations.submit(true, () -> operation.apply(repository));
+    }
+
+    // ── Soft Delete ────────────────────────────────────────────────
+
+    /**
+     * @see SoftDeleteRepository#softDelete(SoftDeletable)
+     */
+    public CompletableFuture<Boolean> softDelete(T entity) {
+        return execute(repo -> repo.softDelete(entity));
+    }
+
+    /**
+     * @see SoftDeleteRepository#softDeleteById(Object)
+     */
+    public CompletableFuture<Boolean> softDeleteById(ID id) {
+        return execute(repo -> repo.softDeleteById(id));
+    }
+
+    /**
+     * @see SoftDeleteRepository#softDeleteAllById(Iterable)
+     */
+    public CompletableFuture<Long> softDeleteAllById(Iterable<? extends ID> ids) {
+        return execute(repo -> repo.softDeleteAllById(ids));
+    }
+
+    /**
+     * @see SoftDeleteRepository#softDeleteAll(Specification)
+     */
+    public CompletableFuture<Long> softDeleteAll(Specification<T> spec) {
+        return execute(repo -> repo.softDeleteAll(spec));
+    }
+
+    /**
+     * @see SoftDeleteRepository#softDeleteAll()
+     */
+    public CompletableFuture<Long> softDeleteAll() {
+        return execute(SoftDeleteRepository::softDeleteAll);
+    }
+
+    // ── Restore ────────────────────────────────────────────────────
+
+    /**
+     * @see SoftDeleteRepository#restore(SoftDeletable)
+     */
+    public CompletableFuture<Boolean> restore(T entity) {
+        return execute(repo -> repo.restore(entity));
+    }
+
+    /**
+     * @see SoftDeleteRepository#restoreById(Object)
+     */
+    public CompletableFuture<Boolean> restoreById(ID id) {
+        return execute(repo -> repo.restoreById(id));
+    }
+
+    /**
+     * @see SoftDeleteRepository#restoreAll(Iterable)
+     */
+    public CompletableFuture<Long> restoreAll(Iterable<? extends T> entities) {
+        return execute(repo -> repo.restoreAll(entities));
+    }
+
+    /**
+     * @see SoftDeleteRepository#restoreAllById(Iterable)
+     */
+    public CompletableFuture<Long> restoreAllById(Iterable<? extends ID> ids) {
+        return execute(repo -> repo.restoreAllById(ids));
+    }
+
+    /**
+     * @see SoftDeleteRepository#restoreAll(Specification)
+     */
+    public CompletableFuture<Long> restoreAll(Specification<T> spec) {
+        return execute(repo -> repo.restoreAll(spec));
+    }
+
+    // ── Force Delete ───────────────────────────────────────────────
+
+    /**
+     * @see SoftDeleteRepository#forceDelete(SoftDeletable)
+     */
+    public CompletableFuture<Void> forceDelete(T entity) {
+        return run(() -> repository.forceDelete(entity));
+    }
+
+    /**
+     * @see SoftDeleteRepository#forceDeleteById(Object)
+     */
+    public CompletableFuture<Void> forceDeleteById(ID id) {
+        return run(() -> repository.forceDeleteById(id));
+    }
+
+    // ── Query Scopes ───────────────────────────────────────────────
+
+    /**
+     * Find a live entity by id.
+     */
+    public CompletableFuture<Optional<T>> findById(ID id) {
+        return query(repo -> repo.findById(id));
+    }
+
+    /**
+     * Find all live entities.
+     */
+    public CompletableFuture<List<T>> findAll() {
+        return query(SoftDeleteRepository::findAll);
+    }
+
+    /**
+     * Count live entities.
+     */
+    public CompletableFuture<Long> count() {
+        return query(SoftDeleteRepository::count);
+    }
+
+    /**
+     * @see SoftDeleteRepository#findAllWithTrashed()
+     */
+    public CompletableFuture<List<T>> findAllWithTrashed() {
+        return query(SoftDeleteRepository::findAllWithTrashed);
+    }
+
+    /**
+     * @see SoftDeleteRepository#findAllWithTrashed(Specification, Pageable)
+     */
+    public CompletableFuture<Page<T>> findAllWithTrashed(Specification<T> spec, Pageable pageable) {
+        return query(repo -> repo.findAllWithTrashed(spec, pageable));
+    }
+
+    /**
+     * @see SoftDeleteRepository#findByIdWithTrashed(Object)
+     */
+    public CompletableFuture<Optional<T>> findByIdWithTrashed(ID id) {
+        return query(repo -> repo.findByIdWithTrashed(id));
+    }
+
+    /**
+     * @see SoftDeleteRepository#existsByIdWithTrashed(Object)
+     */
+    public CompletableFuture<Boolean> existsByIdWithTrashed(ID id) {
+        return query(repo -> repo.existsByIdWithTrashed(id));
+    }
+
+    /**
+     * @see SoftDeleteRepository#isTrashed(Object)
+     */
+    public CompletableFuture<Boolean> isTrashed(ID id) {
+        return query(repo -> repo.isTrashed(id));
+    }
+
+    /**
+     * @see SoftDeleteRepository#findAllTrashed()
+     */
+    public CompletableFuture<List<T>> findAllTrashed() {
+        return query(SoftDeleteRepository::findAllTrashed);
+    }
+
+    /**
+     * @see SoftDeleteRepository#findAllTrashed(Specification, Pageable)
+     */
+    public CompletableFuture<Page<T>> findAllTrashed(Specification<T> spec, Pageable pageable) {
+        return query(repo -> repo.findAllTrashed(spec, pageable));
+    }
+
+    /**
+     * @see SoftDeleteRepository#findTrashedAfter(Instant, Object, int)
+     */
+    public CompletableFuture<List<T>> findTrashedAfter(Instant deletedAt, ID lastId, int limit) {
+        return query(repo -> repo.findTrashedAfter(deletedAt, lastId, limit));
+    }
+
+    /**
+     * @see SoftDeleteRepository#findTrashed(ScrollPosition, int)
+     */
+    public CompletableFuture<Window<T>> findTrashed(ScrollPosition position, int limit) {
+        return query(repo -> repo.findTrashed(position, limit));
+    }
+
+    /**
+     * @see SoftDeleteRepository#stats()
+     */
+    public CompletableFuture<SoftDeleteStats> stats() {
+        return query(SoftDeleteRepository::stats);
+    }
+
+    /**
+     * @see SoftDeleteRepository#countWithTrashed()
+     */
+    public CompletableFuture<Long> countWithTrashed() {
+        return query(SoftDeleteRepository::countWithTrashed);
+    }
+
+    /**
+     * @see SoftDeleteRepository#countWithTrashed(Specification)
+     */
+    public CompletableFuture<Long> countWithTrashed(Specification<T> spec) {
+        return query(repo -> repo.countWithTrashed(spec));
+    }
+
+    /**
+     * @see SoftDeleteRepository#countTrashed()
+     */
+    public CompletableFuture<Long> countTrashed() {
+        return query(SoftDeleteRepository::countTrashed);
+    }
+
+    /**
+     * @see SoftDeleteRepository#countTrashed(Specification)
+     */
+    public CompletableFuture<Long> countTrashed(Specification<T> spec) {
+        return query(repo -> repo.countTrashed(spec));
+    }
+
+    private CompletableFuture<Void> run(Runnable operation) {
+        return operations.submit(false, () -> {
+            operation.run();
+            return null;
+        });
+    }
+}
@@ -1,31 +1,247 @@
 package com.github.rylxes.softdelete.config;
 
 import com.github.rylxes.softdelete.SoftDeletableEntity;
+import com.github.rylxes.softdelete.SoftDeleteFilterPostProcessor;
+import com.github.rylxes.softdelete.SoftDeleteInstrumentation;
+import com.github.rylxes.softdelete.SoftDeleteIntegrator;
 import com.github.rylxes.softdelete.SoftDeleteRepositoryFactoryBean;
+import com.github.rylxes.softdelete.archive.SoftDeleteArchiveEngine;
+import com.github.rylxes.softdelete.async.AsyncSoftDeleteRepositories;
+import com.github.rylxes.softdelete.index.SoftDeleteIndexAdvisor;
+import com.github.rylxes.softdelete.metrics.MicrometerSoftDeleteInstrumentation;
+import com.github.rylxes.softdelete.metrics.SoftDeleteTrashedGauges;
+import com.github.rylxes.softdelete.outbox.SoftDeleteEventPublisher;
+import com.github.rylxes.softdelete.outbox.SoftDeleteOutbox;
+import com.github.rylxes.softdelete.outbox.SoftDeleteOutboxRelay;
+import com.github.rylxes.softdelete.purge.SoftDeletePurgeEngine;
+import com.github.rylxes.softdelete.purge.SoftDeletePurgeScheduler;
+import com.github.rylxes.softdelete.replica.ReplicaDataSourcePostProcessor;
+import com.github.rylxes.softdelete.replica.SoftDeleteReplicaMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
-import org.springframework.context.annotation.ComponentScan;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.Executor;
 
 /**
  * Auto-configuration that:
  * <ol>
  * <li>Registers configuration properties for soft-delete customisation.</li>
- * <li>Component-scans the config package so the {@code SoftDeleteFilterAspect}
- * is picked up automatically.</li>
+ * <li>Passes {@code softdelete.column-name} to Hibernate, where
+ * {@code SoftDeleteIntegrator} applies it to the mapping.</li>
+ * <li>Ships {@link SoftDeleteRuntimeHints} for Spring AOT and native images.</li>
+ * <li>Registers the purge engine when {@code softdelete.purge.enabled=true},
+ * and schedules it when {@code softdelete.purge.schedule} is set.</li>
+ * <li>Registers the archive engine when {@code softdelete.archive.enabled=true}.</li>
+ * <li>Publishes Micrometer metrics for repository operations and filter
+ * toggles when Micrometer is on the classpath and a {@code MeterRegistry}
+ * bean exists (disable with {@code softdelete.metrics.enabled=false}).</li>
+ * <li>Checks at startup that soft-deletable tables have an index on the
+ * soft-delete column ({@code softdelete.index-advisor.mode}).</li>
+ * <li>Writes soft-delete events to a transactional outbox when
+ * {@code softdelete.outbox.enabled=true}, relaying them to a
+ * {@code SoftDeleteEventPublisher} bean if one is defined.</li>
+ * <li>Registers {@link AsyncSoftDeleteRepositories}, the
+ * {@code CompletableFuture} repository facade, with its concurrency bounded
+ * by the connection pool, when {@code softdelete.async.enabled=true}.</li>
+ * <li>Routes the read-only transactions of soft-delete repositories to a
+ * read replica when {@code softdelete.replica.enabled=true}, while its lag
+ * stays within {@code softdelete.replica.max-lag}.</li>
  * </ol>
  * <p>
- * <b>Consumers</b> must add
- * {@code @EnableJpaRepositories(repositoryFactoryBeanClass = SoftDeleteRepositoryFactoryBean.class)}
- * on their own {@code @Configuration} or {@code @SpringBootApplication} class
- * so
- * that Spring Data JPA knows to use the soft-delete repository implementation
- * for
- * any repository extending {@code SoftDeleteRepository}.
+ * Repositories are registered with {@link SoftDeleteRepositoryFactoryBean} by
+ * {@link SoftDeleteRepositoriesAutoConfiguration}, whose repository proxies
+ * also enable the soft-delete filter; nothing here relies on component
+ * scanning or AspectJ auto-proxying. Repositories created by other factory
+ * beans enable it only with {@code softdelete.filter-all-repositories=true}.
  */
-@AutoConfiguration
+@AutoConfiguration(afterName =
+        "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
 @ConditionalOnClass(SoftDeletableEntity.class)
 @EnableConfigurationProperties(SoftDeleteProperties.class)
-@ComponentScan(basePackageClasses = SoftDeleteAutoConfiguration.class)
+@ImportRuntimeHints(SoftDeleteRuntimeHints.class)
 public class SoftDeleteAutoConfiguration {
+
+    @Bean
+    HibernatePropertiesCustomizer softDeleteHibernatePropertiesCustomizer(SoftDeleteProperties properties) {
+        return hibernateProperties -> hibernateProperties.put(SoftDeleteIntegrator.COLUMN_NAME_SETTING,
+                properties.getColumnName());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "softdelete", name = "filter-all-repositories", havingValue = "true")
+    static SoftDeleteFilterPostProcessor softDeleteFilterPostProcessor(
+            ObjectProvider<EntityManagerFactory> entityManagerFactory,
+            ObjectProvider<SoftDeleteInstrumentation> instrumentation) {
+        return new SoftDeleteFilterPostProcessor(entityManagerFactory, instrumentation);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    SoftDeleteIndexAdvisor softDeleteIndexAdvisor(EntityManagerFactory entityManagerFactory,
+            DataSource dataSource, SoftDeleteProperties properties) {
+        return new SoftDeleteIndexAdvisor(entityManagerFactory, dataSource, properties);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "softdelete.purge", name = "enabled", havingValue = "true")
+    static class PurgeConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        SoftDeletePurgeEngine softDeletePurgeEngine(ListableBeanFactory beanFactory,
+                SoftDeleteProperties properties) {
+            return new SoftDeletePurgeEngine(beanFactory, properties);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(prefix = "softdelete.purge", name = "schedule")
+        SoftDeletePurgeScheduler softDeletePurgeScheduler(SoftDeletePurgeEngine engine,
+                SoftDeleteProperties properties) {
+            return new SoftDeletePurgeScheduler(engine, properties.getPurge().getSchedule());
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "softdelete.archive", name = "enabled", havingValue = "true")
+    static class ArchiveConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        SoftDeleteArchiveEngine softDeleteArchiveEngine(ListableBeanFactory beanFactory,
+                SoftDeleteProperties properties) {
+            return new SoftDeleteArchiveEngine(beanFactory, properties);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "softdelete.outbox", name = "enabled", havingValue = "true")
+    static class OutboxConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        SoftDeleteOutbox softDeleteOutbox(EntityManagerFactory entityManagerFactory,
+                SoftDeleteProperties properties) {
+            return new SoftDeleteOutbox(entityManagerFactory, properties);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        SoftDeleteOutboxRelay softDeleteOutboxRelay(SoftDeleteOutbox outbox, DataSource dataSource,
+                PlatformTransactionManager transactionManager, ObjectProvider<SoftDeleteEventPublisher> publisher,
+                SoftDeleteProperties properties) {
+            return new SoftDeleteOutboxRelay(outbox, dataSource, transactionManager, publisher.getIfAvailable(),
+                    properties.getOutbox());
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterRegistry.class)
+    @ConditionalOnProperty(prefix = "softdelete.metrics", name = "enabled", matchIfMissing = true)
+    static class MetricsConfiguration {
+
+        // The registry is looked up lazily rather than with @ConditionalOnBean:
+        // repositories resolve the instrumentation while the context is still
+        // being refreshed, and a missing registry simply means no metrics.
+        @Bean
+        @ConditionalOnMissingBean
+        SoftDeleteInstrumentation softDeleteInstrumentation(ObjectProvider<MeterRegistry> registry) {
+            MeterRegistry meterRegistry = registry.getIfAvailable();
+            return meterRegistry == null
+                    ? SoftDeleteInstrumentation.NONE
+                    : new MicrometerSoftDeleteInstrumentation(meterRegistry);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(prefix = "softdelete.metrics", name = "trashed-gauges", havingValue = "true")
+        SoftDeleteTrashedGauges softDeleteTrashedGauges(ListableBeanFactory beanFactory,
+                ObjectProvider<MeterRegistry> registry, SoftDeleteProperties properties) {
+            return new SoftDeleteTrashedGauges(beanFactory, registry.getIfAvailable(),
+                    properties.getMetrics().getTrashedRefreshInterval());
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "softdelete.replica", name = "enabled", havingValue = "true")
+    static class ReplicaConfiguration {
+
+        // The replica is deliberately not a DataSource bean: a second one
+        // would make Spring Boot back off from configuring the primary.
+        @Bean
+        @ConditionalOnMissingBean
+        SoftDeleteReplicaMonitor softDeleteReplicaMonitor(SoftDeleteProperties properties) {
+            SoftDeleteProperties.Replica settings = properties.getReplica();
+            Assert.hasText(settings.getUrl(), "softdelete.replica.url must be set when softdelete.replica.enabled=true");
+            DataSource replica = DataSourceBuilder.create(ReplicaConfiguration.class.getClassLoader())
+                    .url(settings.getUrl())
+                    .username(settings.getUsername())
+                    .password(settings.getPassword())
+                    .build();
+            return new SoftDeleteReplicaMonitor(replica, settings.getMaxLag(), settings.getLagQuery(),
+                    settings.getLagCheckInterval());
+        }
+
+        @Bean
+        static ReplicaDataSourcePostProcessor softDeleteReplicaDataSourcePostProcessor(
+                ObjectProvider<SoftDeleteReplicaMonitor> monitor) {
+            return new ReplicaDataSourcePostProcessor(monitor);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "softdelete.async", name = "enabled", havingValue = "true")
+    static class AsyncConfiguration {
+
+        private static final String HIKARI_DATA_SOURCE = "com.zaxxer.hikari.HikariDataSource";
+
+        /** Hikari's default maximum pool size, assumed for other pools. */
+        private static final int DEFAULT_POOL_SIZE = 10;
+
+        @Bean
+        @ConditionalOnMissingBean
+        AsyncSoftDeleteRepositories asyncSoftDeleteRepositories(ListableBeanFactory beanFactory,
+                PlatformTransactionManager transactionManager, DataSource dataSource,
+                @Qualifier("softDeleteAsyncExecutor") ObjectProvider<Executor> executor,
+                SoftDeleteProperties properties) {
+            SoftDeleteProperties.Async settings = properties.getAsync();
+            int maxConcurrency = settings.getMaxConcurrency() > 0
+                    ? settings.getMaxConcurrency()
+                    : poolSize(dataSource) - 1;
+            return new AsyncSoftDeleteRepositories(beanFactory, transactionManager, executor.getIfAvailable(),
+                    maxConcurrency, settings.isVirtualThreads());
+        }
+
+        private static int poolSize(DataSource dataSource) {
+            if (ClassUtils.isPresent(HIKARI_DATA_SOURCE, AsyncConfiguration.class.getClassLoader())) {
+                try {
+                    if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                        return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+                    }
+                } catch (SQLException e) {
+                    // fall back to the default below
+                }
+            }
+            return DEFAULT_POOL_SIZE;
+        }
+    }
 }
@@ -2,6 +2,8 @@ package com.github.rylxes.softdelete.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 /**
  * Configuration properties for the soft-delete library.
  * <p>
@@ -24,6 +26,94 @@ public class SoftDeleteProperties {
      */
     private String columnName = "deleted_at";
 
+    /**
+     * Maximum number of ids bound into a single {@code IN (...)} list when
+     * soft-deleting or restoring in bulk. Larger sets are split into chunks
+     * of this size. Default: {@code 500}.
+     */
+    private int batchSize = 500;
+
+    /**
+     * When {@code forceDelete} of a single entity, and {@code softDelete} and
+     * {@code restore} of a new one, flush the persistence context. The
+     * conditional updates of existing entities always run right away; batch
+     * those with the bulk variants. Default: {@code immediate}.
+     */
+    private FlushMode flushMode = FlushMode.IMMEDIATE;
+
+    /**
+     * Whether {@code softDelete(entity)} and {@code restore(entity)} of a
+     * {@code @Version} entity only apply while the row still has the
+     * version of the caller's copy, and otherwise return {@code false}.
+     * Default: {@code false}.
+     */
+    private boolean checkVersion = false;
+
+    /**
+     * Whether repository proxies enable the soft-delete filter before every
+     * call, so derived and {@code @Query} methods exclude soft-deleted rows.
+     * Default: {@code true}.
+     */
+    private boolean filterInterceptor = true;
+
+    /**
+     * Whether JPA repositories created by another factory bean (for example
+     * by an {@code @EnableJpaRepositories} without
+     * {@code repositoryFactoryBeanClass}) enable the soft-delete filter too.
+     * Default: {@code false}.
+     */
+    private boolean filterAllRepositories = false;
+
+    /**
+     * Retention-based purging of soft-deleted rows.
+     */
+    private final Purge purge = new Purge();
+
+    /**
+     * Micrometer instrumentation of soft-delete operations.
+     */
+    private final Metrics metrics = new Metrics();
+
+    /**
+     * Streaming of the trashed and with-trashed scopes.
+     */
+    private final Streaming streaming = new Streaming();
+
+    /**
+     * Startup check for indexes on the soft-delete column.
+     */
+    private final IndexAdvisor indexAdvisor = new IndexAdvisor();
+
+    /**
+     * Moving aged soft-deleted rows into archive tables.
+     */
+    private final Archive archive = new Archive();
+
+    /**
+     * The {@code CompletableFuture}-based repository facade.
+     */
+    private final Async async = new Async();
+
+    /**
+     * Transactional outbox of soft-delete events.
+     */
+    private final Outbox outbox = new Outbox();
+
+    /**
+     * Cached row counts.
+     */
+    private final Counters counters = new Counters();
+
+    /**
+     * The plain JDBC engine for counts and bulk mutations.
+     */
+    private final Jdbc jdbc = new Jdbc();
+
+    /**
+     * Routing of read-only soft-delete scopes to a read replica.
+     */
+    private final Replica replica = new Replica();
+
     public String getColumnName() {
         return columnName;
     }
@@ -31,4 +121,712 @@ public class SoftDeleteProperties {
     public void setColumnName(String columnName) {
         this.columnName = columnName;
     }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public FlushMode getFlushMode() {
+        return flushMode;
+    }
+
+    public void setFlushMode(FlushMode flushMode) {
+        this.flushMode = flushMode;
+    }
+
+    public boolean isCheckVersion() {
+        return checkVersion;
+    }
+
+    public void setCheckVersion(boolean checkVersion) {
+        this.checkVersion = checkVersion;
+    }
+
+    public boolean isFilterInterceptor() {
+        return filterInterceptor;
+    }
+
+    public void setFilterInterceptor(boolean filterInterceptor) {
+        this.filterInterceptor = filterInterceptor;
+    }
+
+    public boolean isFilterAllRepositories() {
+        return filterAllRepositories;
+    }
+
+    public void setFilterAllRepositories(boolean filterAllRepositories) {
+        this.filterAllRepositories = filterAllRepositories;
+    }
+
+    public Purge getPurge() {
+        return purge;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    public Streaming getStreaming() {
+        return streaming;
+    }
+
+    public IndexAdvisor getIndexAdvisor() {
+        return indexAdvisor;
+    }
+
+    public Archive getArchive() {
+        return archive;
+    }
+
+    public Async getAsync() {
+        return async;
+    }
+
+    public Outbox getOutbox() {
+        return outbox;
+    }
+
+    public Counters getCounters() {
+        return counters;
+    }
+
+    public Jdbc getJdbc() {
+        return jdbc;
+    }
+
+    public Replica getReplica() {
+        return replica;
+    }
+
+    /**
+     * Flush policies of the single-entity write operations.
+     */
+    public enum FlushMode {
+
+        /** Flush after every operation, surfacing errors at the call. */
+        IMMEDIATE,
+
+        /**
+         * Leave the changes to the flush at commit (or before a query that
+         * needs them), so they go out as JDBC batches.
+         */
+        COMMIT,
+
+        /**
+         * Flush after every {@code softdelete.batch-size} operations of a
+         * transaction, bounding the work held in the persistence context.
+         */
+        BATCHED
+    }
+
+    /**
+     * Settings for the purge engine, which permanently removes rows that
+     * have been soft-deleted for longer than the retention period:
+     *
+     * <pre>
+     * softdelete.purge.enabled=true
+     * softdelete.purge.retention=90d
+     * softdelete.purge.schedule=0 0 3 * * *
+     * </pre>
+     */
+    public static class Purge {
+
+        /**
+         * Whether to register the purge engine. Default: {@code false}.
+         */
+        private boolean enabled = false;
+
+        /**
+         * How long soft-deleted rows are kept before they are purged.
+         * Default: 30 days.
+         */
+        private Duration retention = Duration.ofDays(30);
+
+        /**
+         * Number of rows removed per {@code DELETE} statement and transaction.
+         * Default: {@code 500}.
+         */
+        private int chunkSize = 500;
+
+        /**
+         * Upper bound on rows purged per second across all entity types, or
+         * {@code 0} for no limit. Default: {@code 0}.
+         */
+        private int maxRowsPerSecond = 0;
+
+        /**
+         * Number of entity types purged concurrently. Default: {@code 2}.
+         */
+        private int parallelism = 2;
+
+        /**
+         * Cron expression for scheduled purges. Leave unset to only purge on
+         * demand through {@code SoftDeletePurgeEngine}.
+         */
+        private String schedule;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getRetention() {
+            return retention;
+        }
+
+        public void setRetention(Duration retention) {
+            this.retention = retention;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public int getMaxRowsPerSecond() {
+            return maxRowsPerSecond;
+        }
+
+        public void setMaxRowsPerSecond(int maxRowsPerSecond) {
+            this.maxRowsPerSecond = maxRowsPerSecond;
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        public String getSchedule() {
+            return schedule;
+        }
+
+        public void setSchedule(String schedule) {
+            this.schedule = schedule;
+        }
+    }
+
+    /**
+     * Settings for the optional Micrometer integration, active when a
+     * {@code MeterRegistry} is available.
+     */
+    public static class Metrics {
+
+        /**
+         * Whether to record repository timers and filter toggle counters.
+         * Default: {@code true}.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Whether to publish a {@code softdelete.trashed} gauge per entity.
+         * Each refresh runs one {@code COUNT} query per repository.
+         * Default: {@code false}.
+         */
+        private boolean trashedGauges = false;
+
+        /**
+         * How often the trashed-row gauges are refreshed. Default: 1 minute.
+         */
+        private Duration trashedRefreshInterval = Duration.ofMinutes(1);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public boolean isTrashedGauges() {
+            return trashedGauges;
+        }
+
+        public void setTrashedGauges(boolean trashedGauges) {
+            this.trashedGauges = trashedGauges;
+        }
+
+        public Duration getTrashedRefreshInterval() {
+            return trashedRefreshInterval;
+        }
+
+        public void setTrashedRefreshInterval(Duration trashedRefreshInterval) {
+            this.trashedRefreshInterval = trashedRefreshInterval;
+        }
+    }
+
+    /**
+     * Settings for {@code streamAllTrashed()} and {@code streamAllWithTrashed()}.
+     */
+    public static class Streaming {
+
+        /**
+         * JDBC fetch size hint for streamed queries. Default: {@code 500}.
+         */
+        private int fetchSize = 500;
+
+        /**
+         * Number of rows after which already-consumed entities are detached
+         * from the session, keeping memory flat. Default: {@code 1000}.
+         */
+        private int detachInterval = 1000;
+
+        public int getFetchSize() {
+            return fetchSize;
+        }
+
+        public void setFetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+        }
+
+        public int getDetachInterval() {
+            return detachInterval;
+        }
+
+        public void setDetachInterval(int detachInterval) {
+            this.detachInterval = detachInterval;
+        }
+    }
+
+    /**
+     * Settings for the startup index check.
+     */
+    public static class IndexAdvisor {
+
+        /**
+         * What to do when a soft-deletable table has no index usable by the
+         * soft-delete filter. Default: {@code warn}.
+         */
+        private Mode mode = Mode.WARN;
+
+        public Mode getMode() {
+            return mode;
+        }
+
+        public void setMode(Mode mode) {
+            this.mode = mode;
+        }
+
+        public enum Mode {
+
+            /** Skip the check. */
+            OFF,
+
+            /** Log a warning with the suggested DDL. */
+            WARN,
+
+            /** Fail application startup. */
+            FAIL
+        }
+    }
+
+    /**
+     * Settings for the archive tier.
+     */
+    public static class Archive {
+
+        /**
+         * Whether to register the archive engine. Default: {@code false}.
+         */
+        private boolean enabled = false;
+
+        /**
+         * How long soft-deleted rows stay in the entity table before they are
+         * archived. Default: 90 days.
+         */
+        private Duration retention = Duration.ofDays(90);
+
+        /**
+         * Number of rows moved per statement pair and transaction.
+         * Default: {@code 500}.
+         */
+        private int chunkSize = 500;
+
+        /**
+         * Suffix appended to the entity table name to name its archive table.
+         * Default: {@code _archive}.
+         */
+        private String tableSuffix = "_archive";
+
+        /**
+         * Whether a missing archive table is created on first use; otherwise
+         * archiving fails until it exists. Default: {@code true}.
+         */
+        private boolean createTable = true;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getRetention() {
+            return retention;
+        }
+
+        public void setRetention(Duration retention) {
+            this.retention = retention;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public String getTableSuffix() {
+            return tableSuffix;
+        }
+
+        public void setTableSuffix(String tableSuffix) {
+            this.tableSuffix = tableSuffix;
+        }
+
+        public boolean isCreateTable() {
+            return createTable;
+        }
+
+        public void setCreateTable(boolean createTable) {
+            this.createTable = createTable;
+        }
+    }
+
+    /**
+     * Settings for the asynchronous repository facade.
+     */
+    public static class Async {
+
+        /**
+         * Whether to register the asynchronous repository facade.
+         * Default: {@code false}.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Whether operations run on virtual threads when the runtime supports
+         * them; otherwise on platform threads. Ignored when an executor bean
+         * named {@code softDeleteAsyncExecutor} is defined. Default: {@code true}.
+         */
+        private boolean virtualThreads = true;
+
+        /**
+         * Maximum number of operations running at once, each holding a
+         * connection. {@code 0} derives the limit from the connection pool,
+         * leaving one connection for the calling threads. Default: {@code 0}.
+         */
+        private int maxConcurrency = 0;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public boolean isVirtualThreads() {
+            return virtualThreads;
+        }
+
+        public void setVirtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+        }
+
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        public void setMaxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+    }
+
+    /**
+     * Settings for the transactional outbox.
+     */
+    public static class Outbox {
+
+        /**
+         * Whether repositories write soft-delete, restore and force-delete
+         * events to the outbox table. Default: {@code false}.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Name of the outbox table. Default: {@code softdelete_outbox}.
+         */
+        private String table = "softdelete_outbox";
+
+        /**
+         * Whether a missing outbox table is created on first use.
+         * Default: {@code true}.
+         */
+        private boolean createTable = true;
+
+        /**
+         * Maximum number of events the relay reads and publishes per
+         * transaction. Default: {@code 500}.
+         */
+        private int relayBatchSize = 500;
+
+        /**
+         * Delay between relay polls when a publisher is defined.
+         * Default: 1 second.
+         */
+        private Duration pollInterval = Duration.ofSeconds(1);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getTable() {
+            return table;
+        }
+
+        public void setTable(String table) {
+            this.table = table;
+        }
+
+        public boolean isCreateTable() {
+            return createTable;
+        }
+
+        public void setCreateTable(boolean createTable) {
+            this.createTable = createTable;
+        }
+
+        public int getRelayBatchSize() {
+            return relayBatchSize;
+        }
+
+        public void setRelayBatchSize(int relayBatchSize) {
+            this.relayBatchSize = relayBatchSize;
+        }
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+    }
+
+    /**
+     * Settings for the row counter cache.
+     */
+    public static class Counters {
+
+        /**
+         * Whether {@code count()}, {@code countTrashed()},
+         * {@code countWithTrashed()} and {@code stats()} are served from
+         * in-memory counters maintained by the repositories.
+         * Default: {@code false}.
+         */
+        private boolean enabled = false;
+
+        /**
+         * How long counters are trusted before they are re-counted, which
+         * picks up changes made outside the repositories. Default: 5 minutes.
+         */
+        private Duration reconcileInterval = Duration.ofMinutes(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getReconcileInterval() {
+            return reconcileInterval;
+        }
+
+        public void setReconcileInterval(Duration reconcileInterval) {
+            this.reconcileInterval = reconcileInterval;
+        }
+    }
+
+    /**
+     * Settings for the JDBC engine, which runs {@code existsById},
+     * {@code countTrashed}, {@code countWithTrashed}, {@code stats} and the
+     * bulk soft-delete, restore and purge statements as plain SQL on the
+     * session's connection instead of through JPQL.
+     */
+    public static class Jdbc {
+
+        /**
+         * Whether repositories use the JDBC engine. Default: {@code false}.
+         */
+        private boolean enabled = false;
+
+        /**
+         * How the current session is kept in step with the statements.
+         * Default: {@code evict}.
+         */
+        private Consistency consistency = Consistency.EVICT;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Consistency getConsistency() {
+            return consistency;
+        }
+
+        public void setConsistency(Consistency consistency) {
+            this.consistency = consistency;
+        }
+
+        public enum Consistency {
+
+            /**
+             * Flush pending changes before each statement and evict the
+             * entities a mutation affected from the session, so later reads
+             * in the transaction load them afresh.
+             */
+            EVICT,
+
+            /**
+             * Leave the session alone. Use only where the session holds no
+             * pending changes or managed copies of the affected rows.
+             */
+            NONE
+        }
+    }
+
+    /**
+     * Settings for read-replica routing. When enabled, read-only
+     * transactions started by {@code SoftDeleteRepository} methods run
+     * against the replica while its lag is within {@code max-lag}:
+     *
+     * <pre>
+     * softdelete.replica.enabled=true
+     * softdelete.replica.url=jdbc:postgresql://replica:5432/app
+     * softdelete.replica.lag-query=SELECT COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+     * softdelete.replica.max-lag=5s
+     * </pre>
+     */
+    public static class Replica {
+
+        /**
+         * Whether to route read-only soft-delete scopes to the replica.
+         * Default: {@code false}.
+         */
+        private boolean enabled = false;
+
+        /**
+         * JDBC URL of the replica.
+         */
+        private String url;
+
+        /**
+         * Login username of the replica.
+         */
+        private String username;
+
+        /**
+         * Login password of the replica.
+         */
+        private String password;
+
+        /**
+         * Query run on the replica that returns its lag in seconds. When
+         * unset, the replica is assumed to be within {@code max-lag}.
+         */
+        private String lagQuery;
+
+        /**
+         * Largest replica lag at which reads still go to the replica; above
+         * it, or when the lag query fails, they go to the primary.
+         * Default: 5 seconds.
+         */
+        private Duration maxLag = Duration.ofSeconds(5);
+
+        /**
+         * How often the lag query runs. Default: 10 seconds.
+         */
+        private Duration lagCheckInterval = Duration.ofSeconds(10);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public String getLagQuery() {
+            return lagQuery;
+        }
+
+        public void setLagQuery(String lagQuery) {
+            this.lagQuery = lagQuery;
+        }
+
+        public Duration getMaxLag() {
+            return maxLag;
+        }
+
+        public void setMaxLag(Duration maxLag) {
+            this.maxLag = maxLag;
+        }
+
+        public Duration getLagCheckInterval() {
+            return lagCheckInterval;
+        }
+
+        public void setLagCheckInterval(Duration lagCheckInterval) {
+            this.lagCheckInterval = lagCheckInterval;
+        }
+    }
 }
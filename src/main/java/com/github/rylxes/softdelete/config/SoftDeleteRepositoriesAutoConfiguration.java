@@ -0,0 +1,37 @@
+package com.github.rylxes.softdelete.config;
+
+import com.github.rylxes.softdelete.SoftDeleteRepositoryFactoryBean;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.config.JpaRepositoryConfigExtension;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactoryBean;
+
+import javax.sql.DataSource;
+
+/**
+ * Auto-configuration that registers the Spring Data JPA repositories of
+ * the auto-configuration packages with {@link SoftDeleteRepositoryFactoryBean},
+ * so applications need no {@code @EnableJpaRepositories} of their own.
+ * <p>
+ * It takes the place of Spring Boot's {@link JpaRepositoriesAutoConfiguration}
+ * and, like it, backs off when the application enables JPA repositories
+ * itself or sets {@code spring.data.jpa.repositories.enabled=false}. The
+ * repositories are registered at build time by Spring AOT like any other
+ * bean definitions; no component scanning is involved.
+ */
+@AutoConfiguration(before = JpaRepositoriesAutoConfiguration.class, after = HibernateJpaAutoConfiguration.class)
+@ConditionalOnBean(DataSource.class)
+@ConditionalOnClass(JpaRepository.class)
+@ConditionalOnMissingBean({ JpaRepositoryFactoryBean.class, JpaRepositoryConfigExtension.class })
+@ConditionalOnProperty(prefix = "spring.data.jpa.repositories", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+@Import(SoftDeleteRepositoriesRegistrar.class)
+public class SoftDeleteRepositoriesAutoConfiguration {
+}
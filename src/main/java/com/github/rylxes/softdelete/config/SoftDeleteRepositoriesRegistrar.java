@@ -0,0 +1,59 @@
+package com.github.rylxes.softdelete.config;
+
+import com.github.rylxes.softdelete.SoftDeleteRepositoryFactoryBean;
+import org.springframework.boot.autoconfigure.data.AbstractRepositoryConfigurationSourceSupport;
+import org.springframework.core.env.Environment;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.data.jpa.repository.config.JpaRepositoryConfigExtension;
+import org.springframework.data.repository.config.BootstrapMode;
+import org.springframework.data.repository.config.RepositoryConfigurationExtension;
+import org.springframework.util.StringUtils;
+
+import java.lang.annotation.Annotation;
+import java.util.Locale;
+
+/**
+ * Registers the JPA repositories of the auto-configuration packages as if
+ * they were declared with
+ * {@code @EnableJpaRepositories(repositoryFactoryBeanClass = SoftDeleteRepositoryFactoryBean.class)},
+ * honouring {@code spring.data.jpa.repositories.bootstrap-mode}.
+ */
+class SoftDeleteRepositoriesRegistrar extends AbstractRepositoryConfigurationSourceSupport {
+
+    private static final String BOOTSTRAP_MODE_PROPERTY = "spring.data.jpa.repositories.bootstrap-mode";
+
+    private BootstrapMode bootstrapMode = BootstrapMode.DEFAULT;
+
+    @Override
+    protected Class<? extends Annotation> getAnnotation() {
+        return EnableJpaRepositories.class;
+    }
+
+    @Override
+    protected Class<?> getConfiguration() {
+        return EnableSoftDeleteRepositoriesConfiguration.class;
+    }
+
+    @Override
+    protected RepositoryConfigurationExtension getRepositoryConfigurationExtension() {
+        return new JpaRepositoryConfigExtension();
+    }
+
+    @Override
+    protected BootstrapMode getBootstrapMode() {
+        return bootstrapMode;
+    }
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        super.setEnvironment(environment);
+        String mode = environment.getProperty(BOOTSTRAP_MODE_PROPERTY);
+        if (StringUtils.hasText(mode)) {
+            bootstrapMode = BootstrapMode.valueOf(mode.trim().toUpperCase(Locale.ENGLISH));
+        }
+    }
+
+    @EnableJpaRepositories(repositoryFactoryBeanClass = SoftDeleteRepositoryFactoryBean.class)
+    private static final class EnableSoftDeleteRepositoriesConfiguration {
+    }
+}
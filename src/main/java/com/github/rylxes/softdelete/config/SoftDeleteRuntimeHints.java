@@ -0,0 +1,69 @@
+package com.github.rylxes.softdelete.config;
+
+import com.github.rylxes.softdelete.SoftDeletable;
+import com.github.rylxes.softdelete.SoftDeletableEntity;
+import com.github.rylxes.softdelete.SoftDeleteCascade;
+import com.github.rylxes.softdelete.SoftDeleteColumn;
+import com.github.rylxes.softdelete.SoftDeleteIntegrator;
+import com.github.rylxes.softdelete.SoftDeleteMetadata;
+import com.github.rylxes.softdelete.SoftDeleteRepository;
+import com.github.rylxes.softdelete.SoftDeleteRepositoryFactoryBean;
+import com.github.rylxes.softdelete.SoftDeleteRepositoryImpl;
+import com.github.rylxes.softdelete.SoftDeleteStats;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.FilterDef;
+import org.hibernate.integrator.spi.Integrator;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.ReflectionHints;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Reflection and resource hints for native images built with Spring AOT.
+ * <p>
+ * Covers what is reached reflectively at runtime rather than through
+ * generated code:
+ * <ul>
+ * <li>{@link SoftDeleteRepositoryImpl}, which Spring Data invokes as the
+ * repository base class, and {@link SoftDeleteRepositoryFactoryBean};</li>
+ * <li>{@link SoftDeletableEntity} and the filter definition Hibernate reads
+ * from it;</li>
+ * <li>the annotations {@link SoftDeleteIntegrator} reads, and the integrator
+ * itself, which Hibernate loads through {@link java.util.ServiceLoader};</li>
+ * <li>{@link SoftDeleteMetadata} and {@link SoftDeleteStats}, which
+ * applications may serialize.</li>
+ * </ul>
+ */
+public class SoftDeleteRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final String INTEGRATOR_SERVICE = "META-INF/services/" + Integrator.class.getName();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        ReflectionHints reflection = hints.reflection();
+
+        reflection.registerType(SoftDeleteRepositoryImpl.class,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        reflection.registerType(SoftDeleteRepositoryFactoryBean.class,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        reflection.registerType(SoftDeleteRepository.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+        reflection.registerType(SoftDeletable.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+        reflection.registerType(SoftDeletableEntity.class, MemberCategory.DECLARED_FIELDS,
+                MemberCategory.INVOKE_DECLARED_METHODS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        reflection.registerType(FilterDef.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+        reflection.registerType(Filter.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+        reflection.registerType(SoftDeleteColumn.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+        reflection.registerType(SoftDeleteCascade.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+        reflection.registerType(SoftDeleteIntegrator.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.resources().registerPattern(INTEGRATOR_SERVICE);
+
+        reflection.registerType(SoftDeleteMetadata.class,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        reflection.registerType(SoftDeleteMetadata.Cascade.class,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        reflection.registerType(SoftDeleteStats.class,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+    }
+}
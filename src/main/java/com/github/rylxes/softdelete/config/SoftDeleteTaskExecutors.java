@@ -0,0 +1,44 @@
+package com.github.rylxes.softdelete.config;
+
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+/**
+ * Creates the executors used for the library's background work.
+ * <p>
+ * Tasks run on virtual threads when the runtime supports them (Java 21+)
+ * and on daemon platform threads otherwise, so the library still runs on
+ * its Java 17 baseline. Callers bound concurrency themselves, typically
+ * to fit the connection pool.
+ */
+public final class SoftDeleteTaskExecutors {
+
+    private SoftDeleteTaskExecutors() {
+    }
+
+    /**
+     * Create a thread-per-task executor whose threads are named with the
+     * given prefix.
+     */
+    public static SimpleAsyncTaskExecutor create(String threadNamePrefix) {
+        return create(threadNamePrefix, true);
+    }
+
+    /**
+     * Create a thread-per-task executor whose threads are named with the
+     * given prefix, using virtual threads only if {@code virtualThreads} is
+     * set and the runtime supports them.
+     */
+    public static SimpleAsyncTaskExecutor create(String threadNamePrefix, boolean virtualThreads) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(virtualThreads && isVirtualThreadsSupported());
+        executor.setDaemon(true);
+        return executor;
+    }
+
+    /**
+     * Returns {@code true} if the running JVM supports virtual threads.
+     */
+    public static boolean isVirtualThreadsSupported() {
+        return Runtime.version().feature() >= 21;
+    }
+}
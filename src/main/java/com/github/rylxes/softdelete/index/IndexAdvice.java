@@ -0,0 +1,14 @@
+package com.github.rylxes.softdelete.index;
+
+/**
+ * Result of checking one soft-deletable table for an index on its
+ * soft-delete column.
+ *
+ * @param entityName the JPA entity name
+ * @param table      the table holding the soft-delete column
+ * @param column     the soft-delete column
+ * @param indexed    whether an index usable by the soft-delete filter exists
+ * @param ddl        a dialect-specific statement creating such an index
+ */
+public record IndexAdvice(String entityName, String table, String column, boolean indexed, String ddl) {
+}
@@ -0,0 +1,118 @@
+package com.github.rylxes.softdelete.index;
+
+import com.github.rylxes.softdelete.SoftDeleteMetadata;
+import com.github.rylxes.softdelete.SoftDeleteRegistry;
+import com.github.rylxes.softdelete.config.SoftDeleteProperties;
+import jakarta.persistence.EntityManagerFactory;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks at startup that every soft-deletable table has an index the
+ * soft-delete filter can use.
+ * <p>
+ * The table and column are taken from the {@link SoftDeleteRegistry}, so
+ * they are the ones the generated SQL actually references. A table passes when an
+ * index leads with the soft-delete column, or when a partial index's
+ * filter condition references it. Depending on
+ * {@code softdelete.index-advisor.mode}, missing indexes are logged with
+ * the DDL from {@link SoftDeleteIndexDdl} or fail startup.
+ */
+public class SoftDeleteIndexAdvisor implements SmartInitializingSingleton {
+
+    private static final Log logger = LogFactory.getLog(SoftDeleteIndexAdvisor.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final DataSource dataSource;
+    private final SoftDeleteProperties.IndexAdvisor.Mode mode;
+
+    public SoftDeleteIndexAdvisor(EntityManagerFactory entityManagerFactory, DataSource dataSource,
+            SoftDeleteProperties properties) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.dataSource = dataSource;
+        this.mode = properties.getIndexAdvisor().getMode();
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (mode == SoftDeleteProperties.IndexAdvisor.Mode.OFF) {
+            return;
+        }
+        List<IndexAdvice> missing = inspect().stream().filter(advice -> !advice.indexed()).toList();
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        StringBuilder message = new StringBuilder("Soft-delete column is not indexed on ")
+                .append(missing.size()).append(" table(s); suggested DDL:");
+        missing.forEach(advice -> message.append(System.lineSeparator())
+                .append("  ").append(advice.ddl()).append(';'));
+        if (mode == SoftDeleteProperties.IndexAdvisor.Mode.FAIL) {
+            throw new IllegalStateException(message.toString());
+        }
+        logger.warn(message);
+    }
+
+    /**
+     * Inspect every soft-deletable entity's table.
+     */
+    public List<IndexAdvice> inspect() {
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+
+        List<IndexAdvice> advice = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (SoftDeleteMetadata entity : SoftDeleteRegistry.of(entityManagerFactory).getAll()) {
+                advice.add(new IndexAdvice(entity.entityName(), entity.table(), entity.column(),
+                        isIndexed(metaData, entity.table(), entity.column()),
+                        SoftDeleteIndexDdl.createIndex(dialect, entity.table(), entity.column(), entity.idColumn())));
+            }
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Could not read index metadata", e);
+        }
+        return advice;
+    }
+
+    private static boolean isIndexed(DatabaseMetaData metaData, String table, String column) throws SQLException {
+        int dot = table.lastIndexOf('.');
+        String schema = dot < 0 ? null : storedCase(metaData, SoftDeleteIndexDdl.unquote(table.substring(0, dot)));
+        String tableName = storedCase(metaData, SoftDeleteIndexDdl.unquote(table.substring(dot + 1)));
+        String columnName = SoftDeleteIndexDdl.unquote(column);
+
+        try (ResultSet indexes = metaData.getIndexInfo(null, schema, tableName, false, true)) {
+            while (indexes.next()) {
+                String indexedColumn = indexes.getString("COLUMN_NAME");
+                if (indexes.getShort("ORDINAL_POSITION") == 1 && columnName.equalsIgnoreCase(indexedColumn)) {
+                    return true;
+                }
+                String filter = indexes.getString("FILTER_CONDITION");
+                if (filter != null && filter.toLowerCase().contains(columnName.toLowerCase())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String storedCase(DatabaseMetaData metaData, String identifier) throws SQLException {
+        if (metaData.storesUpperCaseIdentifiers()) {
+            return identifier.toUpperCase();
+        }
+        if (metaData.storesLowerCaseIdentifiers()) {
+            return identifier.toLowerCase();
+        }
+        return identifier;
+    }
+}
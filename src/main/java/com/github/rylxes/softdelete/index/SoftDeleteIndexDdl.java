@@ -0,0 +1,58 @@
+package com.github.rylxes.softdelete.index;
+
+import org.hibernate.dialect.CockroachDialect;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.dialect.SQLServerDialect;
+
+/**
+ * Generates {@code CREATE INDEX} statements for a soft-delete column.
+ * <p>
+ * Databases with partial (filtered) indexes get an index on the id that
+ * only covers live rows — {@code WHERE deleted_at IS NULL} — which stays
+ * small however many rows are trashed. Elsewhere a composite
+ * {@code (deleted_at, id)} index serves both the live and trashed scopes.
+ */
+public final class SoftDeleteIndexDdl {
+
+    private static final int MAX_INDEX_NAME_LENGTH = 60;
+
+    private SoftDeleteIndexDdl() {
+    }
+
+    /**
+     * Returns {@code true} if the dialect supports indexes with a
+     * {@code WHERE} clause.
+     */
+    public static boolean supportsPartialIndexes(Dialect dialect) {
+        return dialect instanceof PostgreSQLDialect
+                || dialect instanceof CockroachDialect
+                || dialect instanceof SQLServerDialect;
+    }
+
+    /**
+     * Create the index statement for the given table and columns, using
+     * the names exactly as they appear in the mapping.
+     */
+    public static String createIndex(Dialect dialect, String table, String column, String idColumn) {
+        String unqualifiedTable = table.substring(table.lastIndexOf('.') + 1);
+        if (supportsPartialIndexes(dialect)) {
+            return "CREATE INDEX " + indexName(unqualifiedTable, column, "live") + " ON " + table
+                    + " (" + idColumn + ") WHERE " + column + " IS NULL";
+        }
+        return "CREATE INDEX " + indexName(unqualifiedTable, column, "id") + " ON " + table
+                + " (" + column + ", " + idColumn + ")";
+    }
+
+    private static String indexName(String table, String column, String suffix) {
+        String name = ("idx_" + unquote(table) + "_" + unquote(column) + "_" + suffix).toLowerCase();
+        return name.length() > MAX_INDEX_NAME_LENGTH ? name.substring(0, MAX_INDEX_NAME_LENGTH) : name;
+    }
+
+    static String unquote(String identifier) {
+        if (identifier.length() > 1 && "`\"[".indexOf(identifier.charAt(0)) >= 0) {
+            return identifier.substring(1, identifier.length() - 1);
+        }
+        return identifier;
+    }
+}
@@ -0,0 +1,68 @@
+package com.github.rylxes.softdelete.metrics;
+
+import com.github.rylxes.softdelete.SoftDeleteInstrumentation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SoftDeleteInstrumentation} backed by Micrometer.
+ * <p>
+ * Publishes:
+ * <ul>
+ * <li>{@code softdelete.operations} — timer per repository call, tagged
+ * {@code entity} (simple class name), {@code operation} (method name) and
+ * {@code outcome} ({@code success} / {@code error}).</li>
+ * <li>{@code softdelete.filter.toggles} — counter tagged {@code source}
+ * and {@code state} ({@code enabled} / {@code disabled}).</li>
+ * </ul>
+ * All tag values come from fixed sets (entity types, repository methods),
+ * so cardinality is bounded.
+ */
+public class MicrometerSoftDeleteInstrumentation implements SoftDeleteInstrumentation {
+
+    public static final String OPERATIONS_METRIC = "softdelete.operations";
+
+    public static final String FILTER_TOGGLES_METRIC = "softdelete.filter.toggles";
+
+    private final MeterRegistry registry;
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> toggleCounters = new ConcurrentHashMap<>();
+
+    public MicrometerSoftDeleteInstrumentation(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void operationCompleted(Class<?> domainType, String operation, long durationNanos, Throwable failure) {
+        TimerKey key = new TimerKey(domainType, operation, failure == null);
+        timers.computeIfAbsent(key, this::createTimer).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void filterToggled(String source, boolean enabled) {
+        toggleCounters.computeIfAbsent(source + (enabled ? ":enabled" : ":disabled"),
+                key -> Counter.builder(FILTER_TOGGLES_METRIC)
+                        .description("Soft-delete filter state changes")
+                        .tag("source", source)
+                        .tag("state", enabled ? "enabled" : "disabled")
+                        .register(registry))
+                .increment();
+    }
+
+    private Timer createTimer(TimerKey key) {
+        return Timer.builder(OPERATIONS_METRIC)
+                .description("Soft-delete repository operations")
+                .tag("entity", key.domainType().getSimpleName())
+                .tag("operation", key.operation())
+                .tag("outcome", key.success() ? "success" : "error")
+                .register(registry);
+    }
+
+    private record TimerKey(Class<?> domainType, String operation, boolean success) {
+    }
+}
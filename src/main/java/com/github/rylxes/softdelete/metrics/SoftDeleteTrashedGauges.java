@@ -0,0 +1,107 @@
+package com.github.rylxes.softdelete.metrics;
+
+import com.github.rylxes.softdelete.SoftDeleteRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes a {@code softdelete.trashed} gauge per soft-deletable entity,
+ * tagged {@code entity}, holding the number of soft-deleted rows.
+ * <p>
+ * Values are cached and refreshed in the background at a fixed interval,
+ * so scraping the registry never queries the database. Without a
+ * {@link MeterRegistry} bean (for example without Actuator) nothing is registered
+ * or refreshed.
+ */
+public class SoftDeleteTrashedGauges implements SmartLifecycle {
+
+    public static final String TRASHED_METRIC = "softdelete.trashed";
+
+    private static final Log logger = LogFactory.getLog(SoftDeleteTrashedGauges.class);
+
+    private final ListableBeanFactory beanFactory;
+    private final MeterRegistry registry;
+    private final Duration refreshInterval;
+    private final Map<String, Gauged> gauges = new LinkedHashMap<>();
+    private ThreadPoolTaskScheduler scheduler;
+
+    public SoftDeleteTrashedGauges(ListableBeanFactory beanFactory, MeterRegistry registry,
+            Duration refreshInterval) {
+        this.beanFactory = beanFactory;
+        this.registry = registry;
+        this.refreshInterval = refreshInterval;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        if (registry == null) {
+            logger.debug("No MeterRegistry available; trashed-row gauges are disabled");
+            return;
+        }
+        Repositories repositories = new Repositories(beanFactory);
+        for (Class<?> domainType : repositories) {
+            repositories.getRepositoryFor(domainType)
+                    .filter(SoftDeleteRepository.class::isInstance)
+                    .ifPresent(repository -> register(domainType.getSimpleName(),
+                            (SoftDeleteRepository<?, ?>) repository));
+        }
+
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadNamePrefix("softdelete-gauges-");
+        scheduler.setDaemon(true);
+        scheduler.initialize();
+        scheduler.scheduleAtFixedRate(this::refresh, refreshInterval);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+
+    /**
+     * Re-count trashed rows for every entity.
+     */
+    public void refresh() {
+        gauges.forEach((entity, gauged) -> {
+            try {
+                gauged.value().set(gauged.repository().countTrashed());
+            } catch (RuntimeException e) {
+                logger.warn("Could not refresh trashed-row gauge for " + entity, e);
+            }
+        });
+    }
+
+    private void register(String entity, SoftDeleteRepository<?, ?> repository) {
+        AtomicLong value = new AtomicLong();
+        Gauge.builder(TRASHED_METRIC, value, AtomicLong::get)
+                .description("Soft-deleted rows, refreshed periodically")
+                .tag("entity", entity)
+                .register(registry);
+        gauges.put(entity, new Gauged(repository, value));
+    }
+
+    private record Gauged(SoftDeleteRepository<?, ?> repository, AtomicLong value) {
+    }
+}
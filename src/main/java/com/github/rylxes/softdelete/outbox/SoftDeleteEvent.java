@@ -0,0 +1,16 @@
+package com.github.rylxes.softdelete.outbox;
+
+import java.time.Instant;
+
+/**
+ * A soft-delete change read from the outbox.
+ *
+ * @param id         outbox sequence number; events are relayed in this order
+ * @param entity     JPA entity name
+ * @param entityId   primary key of the changed row, as a string
+ * @param type       what happened to the row
+ * @param occurredAt when the change was made
+ */
+public record SoftDeleteEvent(long id, String entity, String entityId, SoftDeleteEventType type,
+        Instant occurredAt) {
+}
@@ -0,0 +1,21 @@
+package com.github.rylxes.softdelete.outbox;
+
+import java.util.List;
+
+/**
+ * Delivers outbox events to a downstream system, such as a message broker
+ * or search index.
+ * <p>
+ * Define a bean of this type to have {@link SoftDeleteOutboxRelay} poll
+ * the outbox. Events are removed only after {@link #publish} returns; if it
+ * throws, the batch is delivered again on the next poll, so delivery is
+ * at-least-once and publishers should be idempotent.
+ */
+@FunctionalInterface
+public interface SoftDeleteEventPublisher {
+
+    /**
+     * Publish a batch of events, in outbox order.
+     */
+    void publish(List<SoftDeleteEvent> events);
+}
@@ -0,0 +1,16 @@
+package com.github.rylxes.softdelete.outbox;
+
+/**
+ * The kind of change recorded in the outbox.
+ */
+public enum SoftDeleteEventType {
+
+    /** The row was soft-deleted. */
+    SOFT_DELETED,
+
+    /** A soft-deleted row was restored. */
+    RESTORED,
+
+    /** The row was permanently deleted. */
+    FORCE_DELETED
+}
@@ -0,0 +1,207 @@
+package com.github.rylxes.softdelete.outbox;
+
+import com.github.rylxes.softdelete.config.SoftDeleteProperties;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.identity.IdentityColumnSupport;
+import org.hibernate.engine.jdbc.Size;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+import org.hibernate.type.descriptor.sql.spi.DdlTypeRegistry;
+import org.hibernate.type.spi.TypeConfiguration;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The outbox table that soft-delete, restore and force-delete events are
+ * written to, in the transaction that made the change.
+ * <p>
+ * Events are appended on the session's own JDBC connection with batched
+ * {@code INSERT}s, so bulk operations cost one round trip per
+ * {@code softdelete.batch-size} events. The table is created (or checked
+ * for) the first time it is used.
+ */
+public class SoftDeleteOutbox {
+
+    private final String table;
+    private final boolean createTable;
+    private final int batchSize;
+    private final String createTableSql;
+    private final String insert;
+    private final String select;
+    private final String delete;
+
+    private volatile boolean prepared;
+
+    public SoftDeleteOutbox(EntityManagerFactory entityManagerFactory, SoftDeleteProperties properties) {
+        SoftDeleteProperties.Outbox settings = properties.getOutbox();
+        this.table = settings.getTable();
+        this.createTable = settings.isCreateTable();
+        this.batchSize = Math.max(1, properties.getBatchSize());
+        this.createTableSql = createTableSql(entityManagerFactory.unwrap(SessionFactoryImplementor.class));
+        this.insert = "INSERT INTO " + table + " (entity, entity_id, event_type, occurred_at) VALUES (?, ?, ?, ?)";
+        this.select = "SELECT id, entity, entity_id, event_type, occurred_at FROM " + table + " ORDER BY id";
+        this.delete = "DELETE FROM " + table + " WHERE id = ?";
+    }
+
+    /**
+     * Returns the outbox table name.
+     */
+    public String getTable() {
+        return table;
+    }
+
+    /**
+     * Append one event per id on the session's connection, i.e. in its
+     * current transaction.
+     */
+    public void append(Session session, String entity, Collection<?> ids, SoftDeleteEventType type,
+            Instant occurredAt) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        session.doWork(connection -> {
+            prepare(connection);
+            Timestamp timestamp = Timestamp.from(occurredAt);
+            try (PreparedStatement statement = connection.prepareStatement(insert)) {
+                int pending = 0;
+                for (Object id : ids) {
+                    statement.setString(1, entity);
+                    statement.setString(2, String.valueOf(id));
+                    statement.setString(3, type.name());
+                    statement.setTimestamp(4, timestamp);
+                    statement.addBatch();
+                    if (++pending == batchSize) {
+                        statement.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    statement.executeBatch();
+                }
+            }
+        });
+    }
+
+    /**
+     * Read the oldest {@code limit} events, in id order.
+     */
+    public List<SoftDeleteEvent> read(Connection connection, int limit) throws SQLException {
+        prepare(connection);
+        List<SoftDeleteEvent> events = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(select)) {
+            statement.setMaxRows(limit);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    events.add(new SoftDeleteEvent(
+                            resultSet.getLong(1),
+                            resultSet.getString(2),
+                            resultSet.getString(3),
+                            SoftDeleteEventType.valueOf(resultSet.getString(4)),
+                            resultSet.getTimestamp(5).toInstant()));
+                }
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Delete events that have been relayed.
+     */
+    public void remove(Connection connection, List<SoftDeleteEvent> events) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(delete)) {
+            for (SoftDeleteEvent event : events) {
+                statement.setLong(1, event.id());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    /**
+     * Create the outbox table if it is missing. Runs once.
+     *
+     * @throws IllegalStateException if the table is missing and may not be
+     *                               created
+     */
+    private void prepare(Connection connection) throws SQLException {
+        if (prepared) {
+            return;
+        }
+        synchronized (this) {
+            if (prepared) {
+                return;
+            }
+            if (!exists(connection.getMetaData())) {
+                if (!createTable || createTableSql == null) {
+                    throw new IllegalStateException("Soft-delete outbox table " + table + " does not exist"
+                            + (createTable ? " and the database has no identity columns to create it with" : ""));
+                }
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(createTableSql);
+                }
+            }
+            prepared = true;
+        }
+    }
+
+    private boolean exists(DatabaseMetaData metaData) throws SQLException {
+        int dot = table.lastIndexOf('.');
+        String schema = dot < 0 ? null : storedCase(metaData, table.substring(0, dot));
+        String tableName = storedCase(metaData, table.substring(dot + 1));
+        try (ResultSet resultSet = metaData.getTables(null, schema, tableName, null)) {
+            return resultSet.next();
+        }
+    }
+
+    /**
+     * Returns the DDL for the outbox table, or {@code null} if the database
+     * lacks identity columns.
+     */
+    private String createTableSql(SessionFactoryImplementor sessionFactory) {
+        Dialect dialect = sessionFactory.getJdbcServices().getDialect();
+        TypeConfiguration typeConfiguration = sessionFactory.getTypeConfiguration();
+        DdlTypeRegistry types = typeConfiguration.getDdlTypeRegistry();
+        BasicType<String> string = typeConfiguration.getBasicTypeRegistry().resolve(StandardBasicTypes.STRING);
+        BasicType<Instant> instant = typeConfiguration.getBasicTypeRegistry().resolve(StandardBasicTypes.INSTANT);
+        IdentityColumnSupport identity = dialect.getIdentityColumnSupport();
+        if (!identity.supportsIdentityColumns()) {
+            return null;
+        }
+
+        String id = (identity.hasDataTypeInIdentityColumn() ? types.getTypeName(Types.BIGINT, dialect) + " " : "")
+                + identity.getIdentityColumnString(Types.BIGINT);
+        String varchar = types.getTypeName(Types.VARCHAR, Size.length(255), string);
+        return "CREATE TABLE " + table + " ("
+                + "id " + id + ", "
+                + "entity " + varchar + " NOT NULL, "
+                + "entity_id " + varchar + " NOT NULL, "
+                + "event_type " + types.getTypeName(Types.VARCHAR, Size.length(32), string) + " NOT NULL, "
+                + "occurred_at " + types.getTypeName(Types.TIMESTAMP, Size.precision(6), instant) + " NOT NULL, "
+                + "PRIMARY KEY (id))";
+    }
+
+    private static String storedCase(DatabaseMetaData metaData, String identifier) throws SQLException {
+        if (metaData.storesUpperCaseIdentifiers()) {
+            return identifier.toUpperCase(Locale.ROOT);
+        }
+        if (metaData.storesLowerCaseIdentifiers()) {
+            return identifier.toLowerCase(Locale.ROOT);
+        }
+        return identifier;
+    }
+}
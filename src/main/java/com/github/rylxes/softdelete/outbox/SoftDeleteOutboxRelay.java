@@ -0,0 +1,122 @@
+package com.github.rylxes.softdelete.outbox;
+
+import com.github.rylxes.softdelete.config.SoftDeleteProperties;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Reads the soft-delete outbox in id order and hands the events to a
+ * {@link SoftDeleteEventPublisher}.
+ * <p>
+ * Each batch of {@code softdelete.outbox.relay-batch-size} events is read,
+ * published and deleted in one transaction, so a failed publish leaves the
+ * batch in place to be retried. When a publisher bean is defined, the
+ * outbox is drained every {@code softdelete.outbox.poll-interval};
+ * otherwise call {@link #relay(SoftDeleteEventPublisher)} yourself.
+ * <p>
+ * Delivery is at-least-once: relays on several application instances may
+ * read the same batch concurrently.
+ */
+public class SoftDeleteOutboxRelay implements SmartLifecycle {
+
+    private static final Log logger = LogFactory.getLog(SoftDeleteOutboxRelay.class);
+
+    private final SoftDeleteOutbox outbox;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SoftDeleteEventPublisher publisher;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private ThreadPoolTaskScheduler scheduler;
+
+    /**
+     * @param publisher the publisher to poll for, or {@code null} to relay
+     *                  only on demand
+     */
+    public SoftDeleteOutboxRelay(SoftDeleteOutbox outbox, DataSource dataSource,
+            PlatformTransactionManager transactionManager, SoftDeleteEventPublisher publisher,
+            SoftDeleteProperties.Outbox settings) {
+        this.outbox = outbox;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.publisher = publisher;
+        this.batchSize = Math.max(1, settings.getRelayBatchSize());
+        this.pollInterval = settings.getPollInterval();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (scheduler != null || publisher == null) {
+            return;
+        }
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadNamePrefix("softdelete-outbox-");
+        scheduler.setDaemon(true);
+        scheduler.initialize();
+        scheduler.scheduleWithFixedDelay(this::drain, pollInterval);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+
+    /**
+     * Relay the oldest batch of events to the configured publisher.
+     *
+     * @return the number of events relayed
+     * @throws IllegalStateException if no publisher is configured
+     */
+    public int relay() {
+        if (publisher == null) {
+            throw new IllegalStateException("No SoftDeleteEventPublisher bean is defined");
+        }
+        return relay(publisher);
+    }
+
+    /**
+     * Relay the oldest batch of events to the given publisher.
+     *
+     * @return the number of events relayed
+     */
+    public int relay(SoftDeleteEventPublisher publisher) {
+        Integer relayed = transactionTemplate.execute(status -> jdbcTemplate.execute(
+                (ConnectionCallback<Integer>) connection -> {
+                    List<SoftDeleteEvent> events = outbox.read(connection, batchSize);
+                    if (!events.isEmpty()) {
+                        publisher.publish(events);
+                        outbox.remove(connection, events);
+                    }
+                    return events.size();
+                }));
+        return relayed == null ? 0 : relayed;
+    }
+
+    private void drain() {
+        try {
+            while (relay(publisher) == batchSize) {
+                // keep going until the outbox is empty
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Relaying soft-delete outbox events failed; retrying in " + pollInterval, e);
+        }
+    }
+}
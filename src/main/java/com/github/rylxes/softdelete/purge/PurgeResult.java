@@ -0,0 +1,32 @@
+package com.github.rylxes.softdelete.purge;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Outcome of a completed (or cancelled) {@link PurgeRun}.
+ *
+ * @param deletedBefore the cutoff; only rows soft-deleted before it were purged
+ * @param purged        rows permanently deleted, keyed by entity name
+ * @param failures      entity types whose purge stopped with an error
+ * @param cancelled     whether the run was cancelled before it finished
+ * @param elapsed       wall-clock duration of the run
+ */
+public record PurgeResult(Instant deletedBefore, Map<String, Long> purged,
+        Map<String, Throwable> failures, boolean cancelled, Duration elapsed) {
+
+    /**
+     * Total number of rows purged across all entity types.
+     */
+    public long total() {
+        return purged.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Returns {@code true} if every entity type was purged to completion.
+     */
+    public boolean isComplete() {
+        return !cancelled && failures.isEmpty();
+    }
+}
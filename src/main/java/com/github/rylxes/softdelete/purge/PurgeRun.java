@@ -0,0 +1,87 @@
+package com.github.rylxes.softdelete.purge;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Handle on a purge started by {@link SoftDeletePurgeEngine}.
+ * <p>
+ * Exposes live progress per entity type and allows the run to be
+ * cancelled; cancellation takes effect after the chunk currently being
+ * deleted has committed.
+ */
+public final class PurgeRun {
+
+    private final Instant deletedBefore;
+    private final Instant startedAt = Instant.now();
+    private final Map<String, LongAdder> purged = new ConcurrentHashMap<>();
+    private final Map<String, Throwable> failures = new ConcurrentHashMap<>();
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private final CompletableFuture<PurgeResult> completion = new CompletableFuture<>();
+
+    PurgeRun(Instant deletedBefore) {
+        this.deletedBefore = deletedBefore;
+    }
+
+    /**
+     * The cutoff; only rows soft-deleted before this instant are purged.
+     */
+    public Instant getDeletedBefore() {
+        return deletedBefore;
+    }
+
+    /**
+     * Request cancellation. Chunks already deleted stay deleted.
+     */
+    public void cancel() {
+        cancelled.set(true);
+    }
+
+    public boolean isCancelled() {
+        return cancelled.get();
+    }
+
+    public boolean isDone() {
+        return completion.isDone();
+    }
+
+    /**
+     * Snapshot of the rows purged so far, keyed by entity name.
+     */
+    public Map<String, Long> getProgress() {
+        Map<String, Long> progress = new TreeMap<>();
+        purged.forEach((entity, count) -> progress.put(entity, count.sum()));
+        return progress;
+    }
+
+    /**
+     * Completes with the {@link PurgeResult} once every entity type has
+     * finished, failed or observed cancellation.
+     */
+    public CompletableFuture<PurgeResult> getCompletion() {
+        return completion;
+    }
+
+    void started(String entity) {
+        purged.computeIfAbsent(entity, key -> new LongAdder());
+    }
+
+    void recordPurged(String entity, int rows) {
+        purged.computeIfAbsent(entity, key -> new LongAdder()).add(rows);
+    }
+
+    void recordFailure(String entity, Throwable failure) {
+        failures.put(entity, failure);
+    }
+
+    void complete() {
+        completion.complete(new PurgeResult(deletedBefore, getProgress(), Map.copyOf(failures),
+                isCancelled(), Duration.between(startedAt, Instant.now())));
+    }
+}
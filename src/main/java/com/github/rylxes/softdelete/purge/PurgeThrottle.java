@@ -0,0 +1,38 @@
+package com.github.rylxes.softdelete.purge;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared rows-per-second budget for the workers of one purge run.
+ * <p>
+ * Each worker reserves the rows it is about to delete and sleeps until its
+ * reservation falls due, which spreads deletes evenly instead of bursting.
+ */
+final class PurgeThrottle {
+
+    private final long nanosPerRow;
+    private long nextFreeAt = System.nanoTime();
+
+    PurgeThrottle(int maxRowsPerSecond) {
+        this.nanosPerRow = maxRowsPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / maxRowsPerSecond : 0;
+    }
+
+    /**
+     * Block until {@code rows} more rows may be deleted.
+     */
+    void acquire(int rows) throws InterruptedException {
+        if (nanosPerRow == 0) {
+            return;
+        }
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long start = Math.max(now, nextFreeAt);
+            nextFreeAt = start + nanosPerRow * rows;
+            waitNanos = start - now;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.github.rylxes.softdelete.purge;
+
+import com.github.rylxes.softdelete.SoftDeleteRepository;
+import com.github.rylxes.softdelete.config.SoftDeleteProperties;
+import com.github.rylxes.softdelete.config.SoftDeleteTaskExecutors;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.repository.support.Repositories;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Permanently removes rows that have been soft-deleted for longer than
+ * {@code softdelete.purge.retention}.
+ * <p>
+ * Every {@link SoftDeleteRepository} in the application context is purged
+ * through {@link SoftDeleteRepository#purgeTrashed}: keyset-ordered chunks
+ * of {@code softdelete.purge.chunk-size} rows, each deleted in its own short
+ * transaction, so the engine can run while the application serves traffic.
+ * Entity types are purged concurrently (on virtual threads where the
+ * runtime supports them), bounded by {@code softdelete.purge.parallelism}
+ * and throttled by {@code softdelete.purge.max-rows-per-second}.
+ */
+public class SoftDeletePurgeEngine implements DisposableBean {
+
+    private static final Log logger = LogFactory.getLog(SoftDeletePurgeEngine.class);
+
+    private final ListableBeanFactory beanFactory;
+    private final SoftDeleteProperties.Purge settings;
+    private final SimpleAsyncTaskExecutor executor = SoftDeleteTaskExecutors.create("softdelete-purge-");
+    private final AtomicReference<PurgeRun> currentRun = new AtomicReference<>();
+
+    public SoftDeletePurgeEngine(ListableBeanFactory beanFactory, SoftDeleteProperties properties) {
+        this.beanFactory = beanFactory;
+        this.settings = properties.getPurge();
+    }
+
+    /**
+     * Start purging rows soft-deleted longer ago than the configured retention.
+     *
+     * @see #start(Instant)
+     */
+    public PurgeRun start() {
+        return start(Instant.now().minus(settings.getRetention()));
+    }
+
+    /**
+     * Start purging rows soft-deleted before {@code deletedBefore}.
+     * <p>
+     * Only one run is active at a time: if a purge is already in progress
+     * its handle is returned instead of starting another.
+     */
+    public PurgeRun start(Instant deletedBefore) {
+        PurgeRun run = new PurgeRun(deletedBefore);
+        PurgeRun active = currentRun.getAndUpdate(existing -> existing == null || existing.isDone() ? run : existing);
+        if (active != null && !active.isDone()) {
+            return active;
+        }
+
+        Map<String, SoftDeleteRepository<?, Object>> repositories = findRepositories();
+        Semaphore permits = new Semaphore(Math.max(1, settings.getParallelism()));
+        PurgeThrottle throttle = new PurgeThrottle(settings.getMaxRowsPerSecond());
+
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        repositories.forEach((entity, repository) -> {
+            run.started(entity);
+            tasks.add(CompletableFuture.runAsync(
+                    () -> purge(run, entity, repository, permits, throttle), executor));
+        });
+        CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new))
+                .whenComplete((ignored, failure) -> {
+                    run.complete();
+                    logger.info("Soft-delete purge finished: " + run.getProgress()
+                            + (run.isCancelled() ? " (cancelled)" : ""));
+                });
+        return run;
+    }
+
+    /**
+     * Returns the purge currently in progress, if any.
+     */
+    public Optional<PurgeRun> getCurrentRun() {
+        return Optional.ofNullable(currentRun.get()).filter(run -> !run.isDone());
+    }
+
+    @Override
+    public void destroy() {
+        getCurrentRun().ifPresent(PurgeRun::cancel);
+        executor.close();
+    }
+
+    private void purge(PurgeRun run, String entity, SoftDeleteRepository<?, Object> repository,
+            Semaphore permits, PurgeThrottle throttle) {
+        int chunkSize = Math.max(1, settings.getChunkSize());
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.cancel();
+            return;
+        }
+        try {
+            Object after = null;
+            while (!run.isCancelled()) {
+                throttle.acquire(chunkSize);
+                List<Object> purged = repository.purgeTrashed(run.getDeletedBefore(), after, chunkSize);
+                if (purged.isEmpty()) {
+                    break;
+                }
+                run.recordPurged(entity, purged.size());
+                after = purged.get(purged.size() - 1);
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Purged " + purged.size() + " " + entity + " rows (up to id " + after + ")");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.cancel();
+        } catch (RuntimeException e) {
+            logger.error("Soft-delete purge of " + entity + " failed", e);
+            run.recordFailure(entity, e);
+        } finally {
+            permits.release();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, SoftDeleteRepository<?, Object>> findRepositories() {
+        Repositories repositories = new Repositories(beanFactory);
+        Map<String, SoftDeleteRepository<?, Object>> result = new LinkedHashMap<>();
+        for (Class<?> domainType : repositories) {
+            repositories.getRepositoryFor(domainType)
+                    .filter(SoftDeleteRepository.class::isInstance)
+                    .ifPresent(repository -> result.put(domainType.getSimpleName(),
+                            (SoftDeleteRepository<?, Object>) repository));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,67 @@
+package com.github.rylxes.softdelete.purge;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.CronTrigger;
+
+/**
+ * Runs {@link SoftDeletePurgeEngine} on the cron expression configured in
+ * {@code softdelete.purge.schedule}.
+ * <p>
+ * Uses its own single-threaded scheduler, so consumers don't need
+ * {@code @EnableScheduling}. Stopping the application context cancels a
+ * purge that is still running.
+ */
+public class SoftDeletePurgeScheduler implements SmartLifecycle {
+
+    private static final Log logger = LogFactory.getLog(SoftDeletePurgeScheduler.class);
+
+    private final SoftDeletePurgeEngine engine;
+    private final String cron;
+    private ThreadPoolTaskScheduler scheduler;
+
+    public SoftDeletePurgeScheduler(SoftDeletePurgeEngine engine, String cron) {
+        this.engine = engine;
+        this.cron = cron;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadNamePrefix("softdelete-purge-scheduler-");
+        scheduler.setDaemon(true);
+        scheduler.initialize();
+        scheduler.schedule(this::purge, new CronTrigger(cron));
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler == null) {
+            return;
+        }
+        engine.getCurrentRun().ifPresent(PurgeRun::cancel);
+        scheduler.shutdown();
+        scheduler = null;
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+
+    private void purge() {
+        try {
+            PurgeResult result = engine.start().getCompletion().join();
+            if (!result.failures().isEmpty()) {
+                logger.warn("Scheduled soft-delete purge failed for " + result.failures().keySet());
+            }
+        } catch (RuntimeException e) {
+            logger.error("Scheduled soft-delete purge failed", e);
+        }
+    }
+}
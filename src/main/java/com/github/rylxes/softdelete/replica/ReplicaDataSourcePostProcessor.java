@@ -0,0 +1,33 @@
+package com.github.rylxes.softdelete.replica;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's {@code dataSource} bean, the one Spring Boot
+ * auto-configures, in a {@link SoftDeleteRoutingDataSource}. Other data
+ * sources are left alone.
+ */
+public class ReplicaDataSourcePostProcessor implements BeanPostProcessor {
+
+    /**
+     * Name of the data source bean that is wrapped.
+     */
+    public static final String DATA_SOURCE_BEAN = "dataSource";
+
+    private final ObjectProvider<SoftDeleteReplicaMonitor> monitor;
+
+    public ReplicaDataSourcePostProcessor(ObjectProvider<SoftDeleteReplicaMonitor> monitor) {
+        this.monitor = monitor;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource) {
+            return SoftDeleteRoutingDataSource.wrap(dataSource, monitor.getObject());
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,75 @@
+package com.github.rylxes.softdelete.replica;
+
+import com.github.rylxes.softdelete.SoftDeleteRepository;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks the calls whose read-only transactions may run on the replica.
+ * <p>
+ * Added to soft-delete repository proxies, outside their transaction
+ * interceptor, when {@code softdelete.replica.enabled=true}. Only methods
+ * declared by {@code SoftDeleteRepository} or the Spring Data interfaces it
+ * extends open a scope; custom query methods keep using the primary. Scopes
+ * nest, and a connection already bound by an enclosing transaction is kept.
+ * Only read-only transactions are routed, and none of those methods write:
+ * the archive table, for one, is never created by a read.
+ */
+public class ReplicaReadScope implements MethodInterceptor {
+
+    private static final ThreadLocal<int[]> depth = new ThreadLocal<>();
+
+    /**
+     * Whether the current thread is inside a replica read scope.
+     */
+    public static boolean isActive() {
+        int[] current = depth.get();
+        return current != null && current[0] > 0;
+    }
+
+    /**
+     * Run the given action inside a replica read scope, so read-only
+     * transactions it starts may use the replica.
+     */
+    public static <T> T call(Supplier<T> action) {
+        enter();
+        try {
+            return action.get();
+        } finally {
+            exit();
+        }
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Class<?> declaringClass = invocation.getMethod().getDeclaringClass();
+        if (declaringClass == Object.class || !declaringClass.isAssignableFrom(SoftDeleteRepository.class)) {
+            return invocation.proceed();
+        }
+
+        enter();
+        try {
+            return invocation.proceed();
+        } finally {
+            exit();
+        }
+    }
+
+    private static void enter() {
+        int[] current = depth.get();
+        if (current == null) {
+            current = new int[1];
+            depth.set(current);
+        }
+        current[0]++;
+    }
+
+    private static void exit() {
+        int[] current = depth.get();
+        if (--current[0] == 0) {
+            depth.remove();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.github.rylxes.softdelete.replica;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Owns the replica {@link DataSource} and decides whether it may serve
+ * reads.
+ * <p>
+ * With a lag query, the replica's lag is checked in the background at a
+ * fixed interval and reads go to it only while the last check succeeded
+ * with a lag of at most {@code maxLag}; until the first check, reads go to
+ * the primary. Without a lag query the replica is always used.
+ */
+public class SoftDeleteReplicaMonitor implements SmartLifecycle, DisposableBean {
+
+    private static final Log logger = LogFactory.getLog(SoftDeleteReplicaMonitor.class);
+
+    private final DataSource replica;
+    private final Duration maxLag;
+    private final String lagQuery;
+    private final Duration checkInterval;
+    private volatile boolean usable;
+    private volatile Duration lag;
+    private ThreadPoolTaskScheduler scheduler;
+
+    public SoftDeleteReplicaMonitor(DataSource replica, Duration maxLag, String lagQuery, Duration checkInterval) {
+        this.replica = replica;
+        this.maxLag = maxLag;
+        this.lagQuery = StringUtils.hasText(lagQuery) ? lagQuery : null;
+        this.checkInterval = checkInterval;
+        this.usable = this.lagQuery == null;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (scheduler != null || lagQuery == null) {
+            return;
+        }
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadNamePrefix("softdelete-replica-");
+        scheduler.setDaemon(true);
+        scheduler.initialize();
+        scheduler.scheduleAtFixedRate(this::check, checkInterval);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        stop();
+        if (replica instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    /**
+     * Run the lag query now and update {@link #isUsable()}.
+     */
+    public void check() {
+        if (lagQuery == null) {
+            return;
+        }
+        try {
+            Number seconds = new JdbcTemplate(replica).queryForObject(lagQuery, Number.class);
+            Duration measured = seconds == null
+                    ? Duration.ZERO
+                    : Duration.ofMillis(Math.round(seconds.doubleValue() * 1000));
+            lag = measured;
+            usable = measured.compareTo(maxLag) <= 0;
+        } catch (RuntimeException e) {
+            lag = null;
+            if (usable) {
+                logger.warn("Could not check read replica lag; routing reads to the primary", e);
+            }
+            usable = false;
+        }
+    }
+
+    /**
+     * Whether reads may currently go to the replica.
+     */
+    public boolean isUsable() {
+        return usable;
+    }
+
+    /**
+     * The lag measured by the last successful check, or {@code null} if
+     * there was none.
+     */
+    public Duration getLag() {
+        return lag;
+    }
+
+    public DataSource getReplica() {
+        return replica;
+    }
+}
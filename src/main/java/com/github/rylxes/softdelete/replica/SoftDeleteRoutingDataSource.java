@@ -0,0 +1,49 @@
+package com.github.rylxes.softdelete.replica;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Routes connections to the replica when they are opened for a read-only
+ * transaction inside a {@link ReplicaReadScope} and the
+ * {@link SoftDeleteReplicaMonitor} reports the replica usable, and to the
+ * primary otherwise.
+ * <p>
+ * Transaction managers open their connection before the transaction is
+ * marked read-only, so the routing only sees the right state behind a
+ * {@link LazyConnectionDataSourceProxy}; use {@link #wrap} to build both.
+ */
+public class SoftDeleteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    private final SoftDeleteReplicaMonitor monitor;
+
+    public SoftDeleteRoutingDataSource(DataSource primary, SoftDeleteReplicaMonitor monitor) {
+        this.monitor = monitor;
+        setTargetDataSources(Map.<Object, Object>of(PRIMARY, primary, REPLICA, monitor.getReplica()));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Wrap the primary data source so that replica reads are routed at the
+     * first statement of each transaction.
+     */
+    public static DataSource wrap(DataSource primary, SoftDeleteReplicaMonitor monitor) {
+        return new LazyConnectionDataSourceProxy(new SoftDeleteRoutingDataSource(primary, monitor));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean replica = ReplicaReadScope.isActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && monitor.isUsable();
+        return replica ? REPLICA : PRIMARY;
+    }
+}
@@ -0,0 +1,55 @@
+package com.github.rylxes.softdelete;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Child of {@link ParentEntity}; replies to a child cascade as well, so
+ * the cascade graph is both multi-level and self-referencing.
+ */
+@Entity
+@Table(name = "child_entity")
+public class ChildEntity extends SoftDeletableEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String name;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private ParentEntity parent;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private ChildEntity replyTo;
+
+    @SoftDeleteCascade
+    @OneToMany(mappedBy = "replyTo")
+    private List<ChildEntity> replies = new ArrayList<>();
+
+    protected ChildEntity() {
+    }
+
+    public ChildEntity(String name, ParentEntity parent, ChildEntity replyTo) {
+        this.name = name;
+        this.parent = parent;
+        this.replyTo = replyTo;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -4,9 +4,12 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import jakarta.persistence.Column;
 
+import java.time.Instant;
+
 /**
  * Test entity that uses a custom soft-delete column name.
  */
@@ -21,6 +24,8 @@ public class CustomColumnEntity extends SoftDeletableEntity {
 
     private String label;
 
+    private Instant updatedAt;
+
     protected CustomColumnEntity() {
     }
 
@@ -43,4 +48,13 @@ public class CustomColumnEntity extends SoftDeletableEntity {
     public void setLabel(String label) {
         this.label = label;
     }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @PreUpdate
+    void touch() {
+        updatedAt = Instant.now();
+    }
 }
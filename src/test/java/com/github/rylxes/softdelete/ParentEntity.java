@@ -0,0 +1,48 @@
+package com.github.rylxes.softdelete;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test entity whose children are soft-deleted along with it.
+ */
+@Entity
+@Table(name = "parent_entity")
+public class ParentEntity extends SoftDeletableEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String name;
+
+    @SoftDeleteCascade
+    @OneToMany(mappedBy = "parent")
+    private List<ChildEntity> children = new ArrayList<>();
+
+    protected ParentEntity() {
+    }
+
+    public ParentEntity(String name) {
+        this.name = name;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<ChildEntity> getChildren() {
+        return children;
+    }
+}
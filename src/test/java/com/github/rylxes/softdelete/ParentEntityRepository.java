@@ -0,0 +1,4 @@
+package com.github.rylxes.softdelete;
+
+public interface ParentEntityRepository extends SoftDeleteRepository<ParentEntity, Long> {
+}
@@ -1,17 +1,97 @@
 package com.github.rylxes.softdelete;
 
+import com.github.rylxes.softdelete.archive.ArchiveResult;
+import com.github.rylxes.softdelete.archive.SoftDeleteArchiveEngine;
+import com.github.rylxes.softdelete.async.AsyncSoftDeleteRepositories;
+import com.github.rylxes.softdelete.async.AsyncSoftDeleteRepository;
 import com.github.rylxes.softdelete.config.SoftDeleteAutoConfiguration;
+import com.github.rylxes.softdelete.config.SoftDeleteProperties;
+import com.github.rylxes.softdelete.config.SoftDeleteRuntimeHints;
+import com.github.rylxes.softdelete.index.IndexAdvice;
+import com.github.rylxes.softdelete.index.SoftDeleteIndexAdvisor;
+import com.github.rylxes.softdelete.index.SoftDeleteIndexDdl;
+import com.github.rylxes.softdelete.metrics.MicrometerSoftDeleteInstrumentation;
+import com.github.rylxes.softdelete.metrics.SoftDeleteTrashedGauges;
+import com.github.rylxes.softdelete.outbox.SoftDeleteEvent;
+import com.github.rylxes.softdelete.outbox.SoftDeleteEventType;
+import com.github.rylxes.softdelete.outbox.SoftDeleteOutbox;
+import com.github.rylxes.softdelete.outbox.SoftDeleteOutboxRelay;
+import com.github.rylxes.softdelete.purge.PurgeResult;
+import com.github.rylxes.softdelete.purge.SoftDeletePurgeEngine;
+import com.github.rylxes.softdelete.replica.ReplicaReadScope;
+import com.github.rylxes.softdelete.replica.SoftDeleteReplicaMonitor;
+import com.github.rylxes.softdelete.replica.SoftDeleteRoutingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringApplicationAotProcessor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.aot.AbstractAotProcessor;
 import org.springframework.context.annotation.Import;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.support.JpaEntityInformationSupport;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactoryBean;
+import org.springframework.data.querydsl.EntityPathResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -23,6 +103,42 @@ class SoftDeleteIntegrationTest {
     @Autowired
     private TestEntityRepository repository;
 
+    @Autowired
+    private CustomColumnEntityRepository customColumnRepository;
+
+    @Autowired
+    private ParentEntityRepository parentRepository;
+
+    @Autowired
+    private ChildEntityRepository childRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AsyncSoftDeleteRepositories asyncRepositories;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     private TestEntity alice;
     private TestEntity bob;
     private TestEntity charlie;
@@ -57,12 +173,121 @@ class SoftDeleteIntegrationTest {
         @Test
         @DisplayName("softDeleteById works")
         void softDeleteById_works() {
-            repository.softDeleteById(bob.getId());
+            assertTrue(repository.softDeleteById(bob.getId()));
 
             List<TestEntity> results = repository.findAll();
             assertEquals(2, results.size());
             assertTrue(results.stream().noneMatch(e -> e.getName().equals("Bob")));
         }
+
+        @Test
+        @DisplayName("softDeleteById reports when nothing changed")
+        void softDeleteById_reportsNoChange() {
+            assertTrue(repository.softDeleteById(bob.getId()));
+            assertFalse(repository.softDeleteById(bob.getId()), "Already-trashed row should not be touched");
+            assertFalse(repository.softDeleteById(-1L));
+        }
+
+        @Test
+        @DisplayName("softDeleteById updates a managed copy in the session")
+        void softDeleteById_syncsManagedCopy() {
+            transactionTemplate.executeWithoutResult(status -> {
+                TestEntity managed = repository.findById(bob.getId()).orElseThrow();
+
+                assertTrue(repository.softDeleteById(bob.getId()));
+                assertTrue(managed.isDeleted());
+            });
+        }
+
+        @Test
+        @DisplayName("softDelete of a new entity inserts it trashed")
+        void softDelete_newEntity_insertsTrashed() {
+            assertTrue(repository.softDelete(new TestEntity("Dave")));
+
+            assertEquals(1, jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM test_entity WHERE name = 'Dave' AND deleted_at IS NOT NULL",
+                    Integer.class));
+        }
+    }
+
+    // ── Bulk Soft Delete ─────────────────────────────────────
+
+    @Nested
+    @DisplayName("Bulk soft delete")
+    class BulkSoftDeleteTests {
+
+        @Test
+        @DisplayName("softDeleteAllById returns affected rows and shares one timestamp")
+        void softDeleteAllById_sharesTimestamp() {
+            repository.softDelete(charlie);
+
+            long affected = repository.softDeleteAllById(List.of(alice.getId(), bob.getId(), charlie.getId()));
+
+            assertEquals(2, affected, "Already-trashed rows should not be counted");
+            assertEquals(0, repository.count());
+            TestEntity reloadedAlice = repository.findByIdWithTrashed(alice.getId()).orElseThrow();
+            TestEntity reloadedBob = repository.findByIdWithTrashed(bob.getId()).orElseThrow();
+            assertEquals(reloadedAlice.getDeletedAt(), reloadedBob.getDeletedAt());
+        }
+
+        @Test
+        @DisplayName("deleteAll of managed entities runs one bulk update and keeps the counts")
+        void deleteAll_managedEntities() {
+            assertEquals(new SoftDeleteStats(3, 0), repository.stats());  // seeds the counter cache
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            statistics.setStatisticsEnabled(true);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    List<TestEntity> managed = repository.findAll().stream()
+                            .filter(entity -> !entity.getName().equals("Charlie"))
+                            .toList();
+                    repository.deleteAll(managed);
+                    assertTrue(managed.stream().allMatch(TestEntity::isDeleted));
+                });
+                assertEquals(0, statistics.getEntityUpdateCount(), "No per-row UPDATE ahead of the bulk one");
+            } finally {
+                statistics.setStatisticsEnabled(false);
+            }
+
+            assertEquals(2, repository.countTrashed());
+            assertEquals(2, jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM test_entity WHERE deleted_at IS NOT NULL", Integer.class));
+            assertEquals(new SoftDeleteStats(1, 2), repository.stats());
+        }
+
+        @Test
+        @DisplayName("softDeleteAll(spec) only touches matching live rows")
+        void softDeleteAllBySpecification() {
+            Specification<TestEntity> named = (root, query, cb) -> root.get("name").in("Alice", "Bob");
+
+            assertEquals(2, repository.softDeleteAll(named));
+            assertEquals(0, repository.softDeleteAll(named));
+            assertEquals(1, repository.count());
+        }
+
+        @Test
+        @DisplayName("softDeleteAll trashes every live row")
+        void softDeleteAll_trashesEverything() {
+            repository.softDelete(alice);
+
+            assertEquals(2, repository.softDeleteAll());
+            assertEquals(0, repository.count());
+            assertEquals(3, repository.countTrashed());
+        }
+
+        @Test
+        @DisplayName("keeps managed instances in sync")
+        void softDeleteAllById_syncsManagedInstances() {
+            transactionTemplate.executeWithoutResult(status -> {
+                TestEntity managed = repository.findById(bob.getId()).orElseThrow();
+
+                repository.softDeleteAllById(List.of(bob.getId()));
+
+                assertTrue(managed.isDeleted(), "Managed copy should see the bulk update");
+            });
+            assertEquals(2, repository.count());
+        }
     }
 
     // ── Restore ──────────────────────────────────────────────
@@ -88,9 +313,73 @@ class SoftDeleteIntegrationTest {
         @DisplayName("restoreById works")
         void restoreById_works() {
             repository.softDelete(alice);
-            repository.restoreById(alice.getId());
+            assertTrue(repository.restoreById(alice.getId()));
             assertEquals(3, repository.findAll().size());
         }
+
+        @Test
+        @DisplayName("restore of a new entity inserts it live")
+        void restore_newEntity_insertsLive() {
+            assertTrue(repository.restore(new TestEntity("Dave")));
+
+            assertEquals(1, jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM test_entity WHERE name = 'Dave' AND deleted_at IS NULL", Integer.class));
+        }
+
+        @Test
+        @DisplayName("restoreById reports when nothing changed")
+        void restoreById_reportsNoChange() {
+            assertFalse(repository.restoreById(alice.getId()), "Live row should not be touched");
+            assertFalse(repository.restoreById(-1L));
+        }
+
+        @Test
+        @DisplayName("restoreAllById restores trashed rows and reports the count")
+        void restoreAllById_restoresTrashedRows() {
+            repository.softDeleteAllById(List.of(alice.getId(), bob.getId()));
+
+            long restored = repository.restoreAllById(List.of(alice.getId(), bob.getId(), charlie.getId()));
+
+            assertEquals(2, restored, "Only trashed rows count as restored");
+            assertEquals(0, repository.countTrashed());
+        }
+
+        @Test
+        @DisplayName("restoreAll(entities) clears deletedAt on the passed instances")
+        void restoreAll_entities_clearsInstances() {
+            repository.softDelete(alice);
+            repository.softDelete(bob);
+
+            assertEquals(2, repository.restoreAll(List.of(alice, bob)));
+            assertFalse(alice.isDeleted());
+            assertEquals(3, repository.count());
+        }
+
+        @Test
+        @DisplayName("restoreAll(spec) restores only matching trashed rows")
+        void restoreAll_spec_restoresMatching() {
+            repository.softDeleteAll();
+
+            Specification<TestEntity> named = (root, query, cb) -> cb.like(root.get("name"), "%li%");
+            assertEquals(2, repository.restoreAll(named));
+
+            assertEquals(List.of("Alice", "Charlie"),
+                    repository.findAll().stream().map(TestEntity::getName).sorted().toList());
+        }
+
+        @Test
+        @DisplayName("restoreAll fires update callbacks when the entity declares them")
+        void restoreAll_firesUpdateCallbacks() {
+            CustomColumnEntity first = customColumnRepository.save(new CustomColumnEntity("first"));
+            CustomColumnEntity second = customColumnRepository.save(new CustomColumnEntity("second"));
+            customColumnRepository.softDeleteAllById(List.of(first.getId(), second.getId()));
+
+            assertEquals(2, customColumnRepository.restoreAllById(List.of(first.getId(), second.getId())));
+
+            List<CustomColumnEntity> restored = customColumnRepository.findAll();
+            assertEquals(2, restored.size());
+            assertTrue(restored.stream().allMatch(e -> e.getUpdatedAt() != null), "@PreUpdate should have run");
+        }
     }
 
     // ── Force Delete ─────────────────────────────────────────
@@ -120,6 +409,168 @@ class SoftDeleteIntegrationTest {
         }
     }
 
+    // ── Purge ────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("Purge")
+    class PurgeTests {
+
+        @Test
+        @DisplayName("purgeTrashed walks trashed rows in keyset chunks")
+        void purgeTrashed_walksKeysetChunks() {
+            repository.softDelete(alice);
+            repository.softDelete(charlie);
+            Instant cutoff = Instant.now().plusSeconds(1);
+
+            List<Long> first = repository.purgeTrashed(cutoff, null, 1);
+            List<Long> second = repository.purgeTrashed(cutoff, first.get(0), 1);
+            List<Long> third = repository.purgeTrashed(cutoff, second.get(0), 1);
+
+            assertEquals(List.of(alice.getId()), first);
+            assertEquals(List.of(charlie.getId()), second);
+            assertTrue(third.isEmpty());
+            assertEquals(1, repository.countWithTrashed(), "Only the live row should remain");
+        }
+
+        @Test
+        @DisplayName("purgeTrashed keeps rows trashed after the cutoff")
+        void purgeTrashed_respectsCutoff() {
+            repository.softDelete(alice);
+
+            assertTrue(repository.purgeTrashed(Instant.now().minusSeconds(60), null, 10).isEmpty());
+            assertEquals(1, repository.countTrashed());
+        }
+
+        @Test
+        @DisplayName("engine purges every soft-delete repository and reports progress")
+        void engine_purgesAllRepositories() {
+            repository.softDelete(alice);
+            repository.softDelete(bob);
+            SoftDeleteProperties properties = new SoftDeleteProperties();
+            properties.getPurge().setChunkSize(1);
+            SoftDeletePurgeEngine engine = new SoftDeletePurgeEngine(applicationContext, properties);
+
+            PurgeResult result = engine.start(Instant.now().plusSeconds(1)).getCompletion().join();
+            engine.destroy();
+
+            assertTrue(result.isComplete());
+            assertEquals(2, result.total());
+            assertEquals(2L, result.purged().get("TestEntity"));
+            assertEquals(0, repository.countTrashed());
+            assertEquals(1, repository.count());
+        }
+    }
+
+    // ── Archive ──────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("Archive")
+    class ArchiveTests {
+
+        @BeforeEach
+        void dropArchiveTable() {
+            // The in-memory database outlives each test context; ddl-auto only
+            // drops mapped tables.
+            jdbcTemplate.execute("DROP TABLE IF EXISTS test_entity_archive");
+        }
+
+        @Test
+        @DisplayName("archiveTrashed moves aged rows into the archive table")
+        void archiveTrashed_movesRows() {
+            repository.softDelete(alice);
+            repository.softDelete(bob);
+
+            List<Long> archived = repository.archiveTrashed(Instant.now().plusSeconds(1), null, 10);
+
+            assertEquals(List.of(alice.getId(), bob.getId()), archived);
+            assertEquals(1, repository.countWithTrashed());
+            assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM test_entity_archive", Integer.class));
+
+            TestEntity found = repository.findArchivedById(alice.getId()).orElseThrow();
+            assertEquals("Alice", found.getName());
+            assertTrue(found.isDeleted());
+        }
+
+        @Test
+        @DisplayName("findArchivedById does not put the archived row into the second-level cache")
+        void findArchivedById_bypassesSecondLevelCache() {
+            repository.softDelete(alice);
+            repository.archiveTrashed(Instant.now().plusSeconds(1), null, 10);
+            entityManagerFactory.getCache().evictAll();
+
+            assertTrue(repository.findArchivedById(alice.getId()).isPresent());
+
+            assertFalse(entityManagerFactory.getCache().contains(TestEntity.class, alice.getId()));
+            assertTrue(repository.findByIdWithTrashed(alice.getId()).isEmpty());
+        }
+
+        @Test
+        @DisplayName("restoreFromArchive moves the row back as a live row")
+        void restoreFromArchive_restoresLiveRow() {
+            repository.softDelete(alice);
+            repository.archiveTrashed(Instant.now().plusSeconds(1), null, 10);
+
+            assertTrue(repository.restoreFromArchive(alice.getId()));
+            assertFalse(repository.restoreFromArchive(alice.getId()));
+
+            assertTrue(repository.findById(alice.getId()).isPresent());
+            assertTrue(repository.findArchivedById(alice.getId()).isEmpty());
+        }
+
+        @Test
+        @DisplayName("archive table is created with a unique id, outside the caller's transaction")
+        void archiveTable_createdIndependently() {
+            repository.softDelete(alice);
+            assertTrue(repository.findArchivedById(alice.getId()).isEmpty());
+            assertEquals(0, jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = 'TEST_ENTITY_ARCHIVE'",
+                    Integer.class), "Reads must not create the archive table");
+
+            transactionTemplate.executeWithoutResult(status -> {
+                repository.archiveTrashed(Instant.now().plusSeconds(1), null, 10);
+                status.setRollbackOnly();
+            });
+
+            assertEquals(1, jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES"
+                            + " WHERE TABLE_NAME = 'TEST_ENTITY_ARCHIVE' AND INDEX_TYPE_NAME = 'UNIQUE INDEX'",
+                    Integer.class));
+            assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM test_entity_archive", Integer.class));
+            assertTrue(repository.isTrashed(alice.getId()), "The archived chunk was rolled back");
+        }
+
+        @Test
+        @DisplayName("an existing archive table without a unique id is rejected")
+        void existingTableWithoutKey_isRejected() {
+            jdbcTemplate.execute("CREATE TABLE test_entity_archive AS SELECT * FROM test_entity WHERE 1 = 0");
+            repository.softDelete(alice);
+
+            assertThrows(InvalidDataAccessApiUsageException.class,
+                    () -> repository.archiveTrashed(Instant.now().plusSeconds(1), null, 10));
+
+            jdbcTemplate.execute("CREATE UNIQUE INDEX test_entity_archive_id ON test_entity_archive (id)");
+            assertEquals(List.of(alice.getId()), repository.archiveTrashed(Instant.now().plusSeconds(1), null, 10));
+        }
+
+        @Test
+        @DisplayName("engine archives in chunks and keeps recently trashed rows")
+        void engine_archivesInChunks() {
+            repository.softDelete(alice);
+            repository.softDelete(bob);
+            SoftDeleteProperties properties = new SoftDeleteProperties();
+            properties.getArchive().setChunkSize(1);
+
+            ArchiveResult none = new SoftDeleteArchiveEngine(applicationContext, properties).archive();
+            ArchiveResult all = new SoftDeleteArchiveEngine(applicationContext, properties)
+                    .archive(Instant.now().plusSeconds(1));
+
+            assertEquals(0, none.total(), "Rows are younger than the default retention");
+            assertEquals(2L, all.archived().get("TestEntity"));
+            assertTrue(all.failures().isEmpty());
+            assertEquals(0, repository.countTrashed());
+        }
+    }
+
     // ── Query Scopes ─────────────────────────────────────────
 
     @Nested
@@ -157,6 +608,35 @@ class SoftDeleteIntegrationTest {
             assertTrue(trashed.stream().allMatch(SoftDeletable::isDeleted));
         }
 
+        @Test
+        @DisplayName("existence checks respect each scope")
+        void existenceChecks_respectScopes() {
+            repository.softDelete(alice);
+
+            assertFalse(repository.existsById(alice.getId()));
+            assertTrue(repository.existsByIdWithTrashed(alice.getId()));
+            assertTrue(repository.isTrashed(alice.getId()));
+
+            assertTrue(repository.existsById(bob.getId()));
+            assertTrue(repository.existsByIdWithTrashed(bob.getId()));
+            assertFalse(repository.isTrashed(bob.getId()));
+
+            assertFalse(repository.existsByIdWithTrashed(-1L));
+        }
+
+        @Test
+        @DisplayName("existence checks never hydrate the entity")
+        void existenceChecks_doNotLoadEntity() {
+            transactionTemplate.executeWithoutResult(status -> {
+                assertTrue(repository.existsById(bob.getId()));
+                assertTrue(repository.existsByIdWithTrashed(bob.getId()));
+                assertFalse(repository.isTrashed(bob.getId()));
+
+                assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount(),
+                        "Existence checks should not put the entity into the session");
+            });
+        }
+
         @Test
         @DisplayName("countWithTrashed counts everything")
         void countWithTrashed_countsAll() {
@@ -171,6 +651,88 @@ class SoftDeleteIntegrationTest {
             repository.softDelete(bob);
             assertEquals(2, repository.countTrashed());
         }
+
+        @Test
+        @DisplayName("findAllTrashed(spec, pageable) filters, sorts and pages trashed rows")
+        void findAllTrashed_specAndPageable() {
+            repository.softDeleteAll();
+
+            Specification<TestEntity> notBob = (root, query, cb) -> cb.notEqual(root.get("name"), "Bob");
+            Page<TestEntity> page = repository.findAllTrashed(notBob,
+                    PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "name")));
+
+            assertEquals(List.of("Charlie"), page.map(TestEntity::getName).getContent());
+            assertEquals(2, page.getTotalElements());
+            assertEquals(2, repository.countTrashed(notBob));
+        }
+
+        @Test
+        @DisplayName("findAllWithTrashed(spec, pageable) includes live and trashed rows")
+        void findAllWithTrashed_specAndPageable() {
+            repository.softDelete(alice);
+
+            Page<TestEntity> page = repository.findAllWithTrashed(null, PageRequest.of(0, 10, Sort.by("name")));
+
+            assertEquals(List.of("Alice", "Bob", "Charlie"), page.map(TestEntity::getName).getContent());
+            Specification<TestEntity> alices = (root, query, cb) -> cb.equal(root.get("name"), "Alice");
+            assertEquals(1, repository.countWithTrashed(alices));
+            assertEquals(0, repository.countTrashed((root, query, cb) -> cb.equal(root.get("name"), "Bob")));
+        }
+
+        @Test
+        @DisplayName("findTrashed scrolls trashed rows by (deletedAt, id) keyset, newest first")
+        void findTrashed_scrollsByKeyset() {
+            TestEntity dana = repository.save(new TestEntity("Dana"));
+            repository.softDeleteAll(); // one shared timestamp, so ties are broken by id
+            TestEntity eve = repository.save(new TestEntity("Eve"));
+            repository.softDeleteById(eve.getId());
+
+            List<String> scrolled = new ArrayList<>();
+            Window<TestEntity> window = repository.findTrashed(ScrollPosition.keyset(), 2);
+            window.forEach(entity -> scrolled.add(entity.getName()));
+            while (window.hasNext()) {
+                window = repository.findTrashed(window.positionAt(window.size() - 1), 2);
+                window.forEach(entity -> scrolled.add(entity.getName()));
+            }
+
+            assertEquals(List.of("Eve", "Dana", "Charlie", "Bob", "Alice"), scrolled);
+            TestEntity last = repository.findByIdWithTrashed(dana.getId()).orElseThrow();
+            assertEquals(List.of("Charlie", "Bob"), repository.findTrashedAfter(last.getDeletedAt(), last.getId(), 2)
+                    .stream().map(TestEntity::getName).toList());
+        }
+
+        @Test
+        @DisplayName("streamAllTrashed streams trashed rows and detaches consumed ones")
+        void streamAllTrashed_detachesConsumedRows() {
+            repository.softDeleteAll();
+
+            transactionTemplate.executeWithoutResult(status -> {
+                List<TestEntity> seen;
+                try (Stream<TestEntity> trashed = repository.streamAllTrashed()) {
+                    seen = trashed.toList();
+                }
+                assertEquals(3, seen.size());
+                // detach-interval=2 in the test configuration
+                assertFalse(entityManager.contains(seen.get(0)));
+                assertFalse(entityManager.contains(seen.get(1)));
+                assertTrue(entityManager.contains(seen.get(2)));
+            });
+        }
+
+        @Test
+        @DisplayName("streamAllWithTrashed includes live rows and requires a transaction")
+        void streamAllWithTrashed_requiresTransaction() {
+            repository.softDelete(alice);
+
+            long streamed = transactionTemplate.execute(status -> {
+                try (Stream<TestEntity> all = repository.streamAllWithTrashed()) {
+                    return all.count();
+                }
+            });
+
+            assertEquals(3, streamed);
+            assertThrows(InvalidDataAccessApiUsageException.class, repository::streamAllWithTrashed);
+        }
     }
 
     // ── findAll auto-filter ──────────────────────────────────
@@ -203,17 +765,1025 @@ class SoftDeleteIntegrationTest {
             repository.softDelete(bob);
             assertEquals(1, repository.count());
         }
+
+        @Test
+        @DisplayName("derived queries exclude soft-deleted inside a transaction")
+        void derivedQuery_excludesDeleted() {
+            repository.softDelete(alice);
+            List<TestEntity> results = transactionTemplate.execute(status -> repository.findByName("Alice"));
+            assertTrue(results.isEmpty(), "derived query should not find soft-deleted entity");
+        }
+
+        @Test
+        @DisplayName("repositories of other factory beans are filtered only on request")
+        void otherFactoryBeans_filteredOnRequest() {
+            repository.softDelete(alice);
+
+            assertEquals(1, transactionTemplate.execute(status -> plainRepository(false).findByName("Alice")).size());
+            assertTrue(transactionTemplate.execute(status -> plainRepository(true).findByName("Alice")).isEmpty());
+        }
+
+        private PlainTestEntityRepository plainRepository(boolean filterAll) {
+            JpaRepositoryFactoryBean<PlainTestEntityRepository, TestEntity, Long> factoryBean =
+                    new JpaRepositoryFactoryBean<>(PlainTestEntityRepository.class);
+            factoryBean.setEntityManager(entityManager);
+            factoryBean.setEntityPathResolver(applicationContext.getBeanProvider(EntityPathResolver.class));
+            factoryBean.setBeanFactory(applicationContext.getAutowireCapableBeanFactory());
+            if (filterAll) {
+                new SoftDeleteFilterPostProcessor(applicationContext.getBeanProvider(EntityManagerFactory.class),
+                        applicationContext.getBeanProvider(SoftDeleteInstrumentation.class))
+                        .postProcessBeforeInitialization(factoryBean, "plainTestEntityRepository");
+            }
+            factoryBean.afterPropertiesSet();
+            return factoryBean.getObject();
+        }
     }
 
-    // ── isDeleted helper ─────────────────────────────────────
+    // ── Auto-configuration ───────────────────────────────────
 
-    @Test
-    @DisplayName("isDeleted returns correct state")
-    void isDeleted_returnsCorrectState() {
-        assertFalse(alice.isDeleted());
-        repository.softDelete(alice);
-        assertTrue(alice.isDeleted());
-        repository.restore(alice);
-        assertFalse(alice.isDeleted());
+    @Nested
+    @DisplayName("Auto-configuration")
+    class AutoConfigurationTests {
+
+        @Test
+        @DisplayName("registers repositories with the soft-delete factory bean")
+        void registersSoftDeleteFactoryBean() {
+            assertInstanceOf(SoftDeleteRepositoryFactoryBean.class,
+                    applicationContext.getBean("&testEntityRepository"));
+        }
+
+        @Test
+        @DisplayName("ships runtime hints for native images")
+        void registersRuntimeHints() {
+            RuntimeHints hints = new RuntimeHints();
+            new SoftDeleteRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+            assertTrue(RuntimeHintsPredicates.reflection().onType(SoftDeleteRepositoryImpl.class)
+                    .withMemberCategories(MemberCategory.INVOKE_PUBLIC_METHODS).test(hints));
+            assertTrue(RuntimeHintsPredicates.reflection().onType(SoftDeletableEntity.class).test(hints));
+            assertTrue(RuntimeHintsPredicates.reflection().onType(SoftDeleteMetadata.class).test(hints));
+            assertTrue(RuntimeHintsPredicates.resource()
+                    .forResource("META-INF/services/org.hibernate.integrator.spi.Integrator").test(hints));
+        }
+
+        @Test
+        @DisplayName("the application context can be generated ahead of time")
+        void generatesAotContext(@TempDir Path output) throws IOException {
+            new SpringApplicationAotProcessor(TestApplication.class, AbstractAotProcessor.Settings.builder()
+                    .sourceOutput(output.resolve("sources"))
+                    .resourceOutput(output.resolve("resources"))
+                    .classOutput(output.resolve("classes"))
+                    .groupId("com.github.rylxes")
+                    .artifactId("spring-boot-softdelete")
+                    .build(), new String[0]).process();
+
+            String sources;
+            try (Stream<Path> files = Files.walk(output.resolve("sources"))) {
+                sources = files.filter(Files::isRegularFile).map(file -> {
+                    try {
+                        return Files.readString(file);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }).collect(Collectors.joining("\n"));
+            }
+            assertTrue(sources.contains("SoftDeleteRepositoryFactoryBean"));
+            assertTrue(sources.contains("\"testEntityRepository\""));
+            assertTrue(Files.readString(output.resolve(
+                    "resources/META-INF/native-image/com.github.rylxes/spring-boot-softdelete/reflect-config.json"))
+                    .contains(SoftDeleteRepositoryImpl.class.getName()));
+        }
+    }
+
+    // ── Caching ──────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("findById caching")
+    class CachingTests {
+
+        @Test
+        @DisplayName("findById is served from the second-level cache")
+        void findById_populatesSecondLevelCache() {
+            entityManagerFactory.getCache().evictAll();
+
+            repository.findById(alice.getId());
+
+            assertTrue(entityManagerFactory.getCache().contains(TestEntity.class, alice.getId()));
+        }
+
+        @Test
+        @DisplayName("softDeleteById and restoreById keep cached reads consistent")
+        void bulkUpdates_keepCacheConsistent() {
+            repository.findById(alice.getId());
+
+            repository.softDeleteById(alice.getId());
+            assertTrue(repository.findById(alice.getId()).isEmpty(), "Trashed row must not be read from cache");
+
+            repository.restoreById(alice.getId());
+            assertTrue(repository.findById(alice.getId()).isPresent());
+        }
+
+        @Test
+        @DisplayName("softDelete(entity) keeps cached reads consistent")
+        void softDelete_keepsCacheConsistent() {
+            repository.findById(bob.getId());
+
+            repository.softDelete(bob);
+
+            assertTrue(repository.findById(bob.getId()).isEmpty());
+            assertTrue(repository.findByIdWithTrashed(bob.getId()).orElseThrow().isDeleted());
+        }
+
+        @Test
+        @DisplayName("single-row soft deletes and restores evict only their own row")
+        void singleRowTransitions_keepOtherRowsCached() {
+            repository.findById(alice.getId());
+            repository.findById(bob.getId());
+
+            repository.softDeleteById(alice.getId());
+            assertTrue(entityManagerFactory.getCache().contains(TestEntity.class, bob.getId()),
+                    "Other rows must stay in the second-level cache");
+
+            repository.restoreById(alice.getId());
+            repository.softDelete(repository.findByIdWithTrashed(charlie.getId()).orElseThrow());
+            assertTrue(entityManagerFactory.getCache().contains(TestEntity.class, bob.getId()));
+        }
+
+        @Test
+        @DisplayName("a row cached before a soft delete is not served to a later transaction")
+        void cachedRow_notServedAfterSoftDelete() {
+            repository.findById(alice.getId());
+            assertTrue(entityManagerFactory.getCache().contains(TestEntity.class, alice.getId()));
+
+            transactionTemplate.executeWithoutResult(status -> repository.softDeleteById(alice.getId()));
+
+            transactionTemplate.executeWithoutResult(status -> {
+                assertTrue(repository.findById(alice.getId()).isEmpty());
+                assertTrue(entityManager.find(TestEntity.class, alice.getId()).isDeleted());
+            });
+        }
+
+        @Test
+        @DisplayName("findById sees soft deletes of managed instances in the same transaction")
+        void findById_usesPersistenceContext() {
+            transactionTemplate.executeWithoutResult(status -> {
+                TestEntity managed = repository.findById(charlie.getId()).orElseThrow();
+                repository.softDeleteById(charlie.getId());
+
+                assertTrue(managed.isDeleted());
+                assertTrue(repository.findById(charlie.getId()).isEmpty());
+            });
+        }
+    }
+
+    // ── Counters ─────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("Counter cache")
+    class CounterTests {
+
+        @Test
+        @DisplayName("stats() counts live and trashed rows in one query")
+        void stats_countsBothScopes() {
+            repository.softDelete(alice);
+
+            SoftDeleteStats stats = repository.stats();
+
+            assertEquals(new SoftDeleteStats(2, 1), stats);
+            assertEquals(3, stats.total());
+        }
+
+        @Test
+        @DisplayName("counts are served from the cache and adjusted on commit only")
+        void counts_areAdjustedOnCommit() {
+            repository.stats();
+            // Invisible to the seeded counter until it is reconciled.
+            jdbcTemplate.update("INSERT INTO test_entity (name) VALUES ('Dana')");
+
+            repository.softDeleteById(alice.getId());
+            repository.softDeleteAllById(List.of(alice.getId(), bob.getId()));
+            transactionTemplate.executeWithoutResult(status -> {
+                repository.restoreById(alice.getId());
+                status.setRollbackOnly();
+            });
+            repository.save(new TestEntity("Eve"));
+            repository.forceDeleteById(bob.getId());
+
+            assertEquals(new SoftDeleteStats(2, 1), repository.stats());
+            assertEquals(2, repository.count());
+            assertEquals(1, repository.countTrashed());
+            assertEquals(3, repository.countWithTrashed());
+        }
+
+        @Test
+        @DisplayName("a count taken between the commit and its adjustment does not seed the counter")
+        void countDuringCommit_doesNotDoubleCount() {
+            transactionTemplate.executeWithoutResult(status -> {
+                repository.softDeleteById(alice.getId());
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        // Another thread sees the committed row before this
+                        // transaction's adjustment is applied.
+                        CompletableFuture.supplyAsync(repository::stats).join();
+                    }
+                });
+            });
+
+            assertEquals(new SoftDeleteStats(2, 1), repository.stats());
+        }
+    }
+
+    // ── Conditional transitions ──────────────────────────────
+
+    @Nested
+    @DisplayName("Conditional softDelete(entity) and restore(entity)")
+    class TransitionTests {
+
+        @Test
+        @DisplayName("concurrent callers on the same row have exactly one winner")
+        void concurrentTransitions_haveOneWinner() throws Exception {
+            int threads = 8;
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            try {
+                for (int round = 0; round < 20; round++) {
+                    assertEquals(1, race(pool, threads, copy -> repository.softDelete(copy)));
+                    assertEquals(1, race(pool, threads, copy -> repository.restore(copy)));
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+            assertTrue(repository.existsById(alice.getId()));
+            assertEquals(new SoftDeleteStats(3, 0), repository.stats());
+        }
+
+        private int race(ExecutorService pool, int threads, Predicate<TestEntity> transition) throws Exception {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                TestEntity copy = repository.findByIdWithTrashed(alice.getId()).orElseThrow();
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return transition.test(copy);
+                }));
+            }
+            start.countDown();
+            int winners = 0;
+            for (Future<Boolean> result : results) {
+                winners += result.get() ? 1 : 0;
+            }
+            return winners;
+        }
+
+        @Test
+        @DisplayName("only the soft-delete column of the caller's copy is written")
+        void softDelete_writesOnlyTheSoftDeleteColumn() {
+            TestEntity copy = repository.findById(alice.getId()).orElseThrow();
+            copy.setName("Mallory");
+
+            assertTrue(repository.softDelete(copy));
+            assertFalse(repository.softDelete(copy), "Already trashed");
+
+            assertTrue(copy.isDeleted());
+            assertEquals("Alice", repository.findByIdWithTrashed(alice.getId()).orElseThrow().getName());
+        }
+
+        @Test
+        @DisplayName("versioned transitions bump the version and can require the caller's version")
+        void versionedTransitions() {
+            VersionedEntityRepository versioned = applicationContext.getBean(VersionedEntityRepository.class);
+            VersionedEntity dana = versioned.save(new VersionedEntity("Dana"));
+            VersionedEntity stale = versioned.findById(dana.getId()).orElseThrow();
+
+            assertTrue(versioned.softDelete(dana));
+            assertEquals(1L, dana.getVersion());
+            stale.setName("Eve");
+            assertThrows(ObjectOptimisticLockingFailureException.class, () -> versioned.save(stale),
+                    "A stale copy must not revert the soft delete");
+
+            SoftDeleteProperties properties = new SoftDeleteProperties();
+            properties.setCheckVersion(true);
+            SoftDeleteRepositoryImpl<VersionedEntity, Long> checked = new SoftDeleteRepositoryImpl<>(
+                    JpaEntityInformationSupport.getEntityInformation(VersionedEntity.class, entityManager),
+                    entityManager, properties);
+            assertEquals(Boolean.FALSE, transactionTemplate.execute(status -> checked.restore(stale)));
+            assertEquals(Boolean.TRUE, transactionTemplate.execute(status -> checked.restore(dana)));
+            assertEquals(2L, dana.getVersion());
+            assertFalse(versioned.findById(dana.getId()).orElseThrow().isDeleted());
+        }
+    }
+
+    // ── Flush mode ───────────────────────────────────────────
+
+    @Nested
+    @DisplayName("softdelete.flush-mode")
+    class FlushModeTests {
+
+        private SoftDeleteRepositoryImpl<TestEntity, Long> repositoryWith(SoftDeleteProperties.FlushMode mode) {
+            SoftDeleteProperties properties = new SoftDeleteProperties();
+            properties.setFlushMode(mode);
+            properties.setBatchSize(2);
+            return new SoftDeleteRepositoryImpl<>(
+                    JpaEntityInformationSupport.getEntityInformation(TestEntity.class, entityManager),
+                    entityManager, properties);
+        }
+
+        private boolean existsInDatabase(TestEntity entity) {
+            return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM test_entity WHERE id = ?",
+                    Integer.class, entity.getId()) > 0;
+        }
+
+        @Test
+        @DisplayName("commit leaves force deletes to the flush at commit")
+        void commit_defersToCommit() {
+            SoftDeleteRepositoryImpl<TestEntity, Long> deferred = repositoryWith(SoftDeleteProperties.FlushMode.COMMIT);
+
+            transactionTemplate.executeWithoutResult(status -> {
+                deferred.forceDelete(alice);
+                deferred.forceDelete(bob);
+                assertTrue(deferred.softDelete(new TestEntity("Dave")));
+                assertTrue(existsInDatabase(alice), "Nothing should be flushed before commit");
+                assertTrue(existsInDatabase(bob));
+            });
+
+            assertFalse(repository.existsByIdWithTrashed(alice.getId()));
+            assertFalse(repository.existsByIdWithTrashed(bob.getId()));
+            assertEquals(new SoftDeleteStats(1, 1), repository.stats());
+        }
+
+        @Test
+        @DisplayName("batched flushes every batch-size operations")
+        void batched_flushesEveryBatch() {
+            SoftDeleteRepositoryImpl<TestEntity, Long> batched = repositoryWith(SoftDeleteProperties.FlushMode.BATCHED);
+
+            transactionTemplate.executeWithoutResult(status -> {
+                batched.forceDelete(alice);
+                assertTrue(existsInDatabase(alice));
+                batched.forceDelete(bob);
+                assertFalse(existsInDatabase(alice));
+                assertFalse(existsInDatabase(bob));
+                batched.forceDelete(charlie);
+                assertTrue(existsInDatabase(charlie));
+            });
+
+            assertEquals(0, repository.countWithTrashed());
+        }
+
+        @Test
+        @DisplayName("deferred modes still soft-delete and restore existing entities right away")
+        void deferred_writesExistingEntitiesImmediately() {
+            SoftDeleteRepositoryImpl<TestEntity, Long> deferred = repositoryWith(SoftDeleteProperties.FlushMode.COMMIT);
+
+            transactionTemplate.executeWithoutResult(status -> {
+                assertTrue(deferred.softDelete(alice));
+                assertFalse(deferred.softDelete(alice), "The update ran, so the second call sees the trashed row");
+                deferred.delete(bob);
+                assertEquals(2, jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM test_entity WHERE deleted_at IS NOT NULL", Integer.class));
+                assertTrue(deferred.restore(alice));
+            });
+
+            assertFalse(alice.isDeleted());
+            assertTrue(repository.isTrashed(bob.getId()));
+            assertEquals(new SoftDeleteStats(2, 1), repository.stats());
+        }
+
+        @Test
+        @DisplayName("10k soft deletes in one batched transaction go out as a few statements")
+        void batched_bulkSoftDeleteUsesFewStatements() {
+            List<Object[]> names = IntStream.range(0, 10_000).mapToObj(i -> new Object[] { "bulk-" + i }).toList();
+            jdbcTemplate.batchUpdate("INSERT INTO test_entity (name) VALUES (?)", names);
+            List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM test_entity WHERE name LIKE 'bulk-%'", Long.class);
+            SoftDeleteProperties properties = new SoftDeleteProperties();
+            properties.setFlushMode(SoftDeleteProperties.FlushMode.BATCHED);
+            SoftDeleteRepositoryImpl<TestEntity, Long> batched = new SoftDeleteRepositoryImpl<>(
+                    JpaEntityInformationSupport.getEntityInformation(TestEntity.class, entityManager),
+                    entityManager, properties);
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            statistics.setStatisticsEnabled(true);
+            try {
+                assertEquals(Long.valueOf(10_000), transactionTemplate.execute(status -> batched.softDeleteAllById(ids)));
+                assertEquals(20, statistics.getPrepareStatementCount(), "One UPDATE per chunk of 500");
+            } finally {
+                statistics.setStatisticsEnabled(false);
+            }
+            assertEquals(10_000, repository.countTrashed());
+        }
+    }
+
+    // ── JDBC engine ──────────────────────────────────────────
+
+    @Nested
+    @DisplayName("JDBC engine")
+    class JdbcTests {
+
+        private SoftDeleteRepositoryImpl<TestEntity, Long> jdbcRepository;
+
+        @BeforeEach
+        void setUp() {
+            SoftDeleteProperties properties = new SoftDeleteProperties();
+            properties.getJdbc().setEnabled(true);
+            properties.setBatchSize(4);
+            jdbcRepository = new SoftDeleteRepositoryImpl<>(
+                    JpaEntityInformationSupport.getEntityInformation(TestEntity.class, entityManager),
+                    entityManager, properties);
+        }
+
+        @Test
+        @DisplayName("counts, existence and bulk mutations run as plain SQL")
+        void jdbc_countsAndMutates() {
+            transactionTemplate.executeWithoutResult(status -> {
+                assertEquals(2, jdbcRepository.softDeleteAllById(List.of(alice.getId(), bob.getId(), -1L)));
+                assertEquals(2, jdbcRepository.countTrashed());
+                assertEquals(3, jdbcRepository.countWithTrashed());
+                assertFalse(jdbcRepository.existsById(alice.getId()));
+                assertTrue(jdbcRepository.existsById(charlie.getId()));
+
+                assertEquals(1, jdbcRepository.restoreAllById(List.of(alice.getId(), charlie.getId())));
+                assertEquals(new SoftDeleteStats(2, 1), jdbcRepository.stats());
+                assertEquals(List.of(bob.getId()),
+                        jdbcRepository.purgeTrashed(Instant.now().plusSeconds(1), null, 10));
+            });
+
+            assertFalse(repository.existsByIdWithTrashed(bob.getId()));
+            assertEquals(2, repository.count());
+        }
+
+        @Test
+        @DisplayName("evict consistency flushes first and evicts affected entities and cache entries")
+        void jdbc_keepsSessionConsistent() {
+            repository.findById(alice.getId());  // cached in the second-level cache
+
+            transactionTemplate.executeWithoutResult(status -> {
+                TestEntity managedAlice = entityManager.find(TestEntity.class, alice.getId());
+                TestEntity managedCharlie = entityManager.find(TestEntity.class, charlie.getId());
+                managedCharlie.setDeletedAt(Instant.now());
+
+                assertEquals(1, jdbcRepository.countTrashed(), "Pending change should be flushed first");
+                assertEquals(1, jdbcRepository.softDeleteAllById(List.of(alice.getId())));
+                assertFalse(entityManager.contains(managedAlice));
+                assertTrue(entityManager.find(TestEntity.class, alice.getId()).isDeleted());
+            });
+
+            assertTrue(repository.findById(alice.getId()).isEmpty());
+        }
+    }
+
+    // ── Async ────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("Async facade")
+    class AsyncTests {
+
+        @Test
+        @DisplayName("operations fan out across entity types and complete")
+        void fanOut_acrossEntityTypes() {
+            AsyncSoftDeleteRepository<TestEntity, Long> tests = asyncRepositories.of(TestEntity.class);
+            AsyncSoftDeleteRepository<CustomColumnEntity, Long> custom = asyncRepositories.of(customColumnRepository);
+            CustomColumnEntity entity = customColumnRepository.save(new CustomColumnEntity("Dana"));
+
+            CompletableFuture<Boolean> deleted = tests.softDeleteById(alice.getId());
+            CompletableFuture<Long> customDeleted = custom.softDeleteAllById(List.of(entity.getId()));
+            CompletableFuture.allOf(deleted, customDeleted).join();
+
+            assertTrue(deleted.join());
+            assertEquals(1L, customDeleted.join());
+            assertEquals(1L, tests.countTrashed().join());
+            assertTrue(custom.isTrashed(entity.getId()).join());
+            assertTrue(tests.restoreById(alice.getId()).join());
+            assertTrue(repository.findById(alice.getId()).isPresent());
+        }
+
+        @Test
+        @DisplayName("each operation runs in its own transaction and rolls back on failure")
+        void operation_runsInOwnTransaction() {
+            AsyncSoftDeleteRepository<TestEntity, Long> tests = asyncRepositories.of(repository);
+
+            assertTrue(tests.execute(repo -> TransactionSynchronizationManager.isActualTransactionActive()).join());
+            assertTrue(tests.query(repo -> TransactionSynchronizationManager.isCurrentTransactionReadOnly()).join());
+
+            CompletableFuture<Object> failed = tests.execute(repo -> {
+                repo.softDeleteById(bob.getId());
+                throw new IllegalStateException("boom");
+            });
+            CompletionException e = assertThrows(CompletionException.class, failed::join);
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+            assertFalse(repository.isTrashed(bob.getId()), "Failed operation must roll back");
+        }
+
+        @Test
+        @DisplayName("concurrency is bounded to fit the connection pool")
+        void concurrency_isBounded() {
+            AsyncSoftDeleteRepository<TestEntity, Long> tests = asyncRepositories.of(repository);
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger peak = new AtomicInteger();
+
+            CompletableFuture<?>[] futures = IntStream.range(0, asyncRepositories.getMaxConcurrency() * 3)
+                    .mapToObj(i -> tests.query(repo -> {
+                        peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        try {
+                            Thread.sleep(20);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        running.decrementAndGet();
+                        return repo.count();
+                    }))
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(futures).join();
+
+            assertEquals(9, asyncRepositories.getMaxConcurrency(), "Hikari's default pool of 10, minus one");
+            assertTrue(peak.get() <= asyncRepositories.getMaxConcurrency());
+        }
+
+        @Test
+        @DisplayName("operations beyond the bound wait in the caller, not on executor threads")
+        void submit_waitsForPermitBeforeExecuting() throws Exception {
+            AtomicInteger handedOver = new AtomicInteger();
+            ExecutorService pool = Executors.newCachedThreadPool();
+            AsyncSoftDeleteRepositories bounded = new AsyncSoftDeleteRepositories(applicationContext,
+                    transactionManager, task -> {
+                        handedOver.incrementAndGet();
+                        pool.execute(task);
+                    }, 2, false);
+            AsyncSoftDeleteRepository<TestEntity, Long> tests = bounded.of(repository);
+            CountDownLatch release = new CountDownLatch(1);
+            List<CompletableFuture<Long>> futures = new ArrayList<>();
+            Thread submitter = new Thread(() -> IntStream.range(0, 4).forEach(i -> futures.add(tests.query(repo -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return repo.count();
+            }))));
+            try {
+                submitter.start();
+                submitter.join(500);
+
+                assertTrue(submitter.isAlive(), "The third submission waits for a permit");
+                assertEquals(2, handedOver.get());
+
+                release.countDown();
+                submitter.join(5000);
+                assertEquals(4, handedOver.get());
+                futures.forEach(future -> assertEquals(3L, future.join()));
+            } finally {
+                release.countDown();
+                pool.shutdown();
+            }
+        }
+    }
+
+    // ── Outbox ───────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("Outbox")
+    class OutboxTests {
+
+        private SoftDeleteOutboxRelay relay;
+
+        @BeforeEach
+        void enableOutbox() {
+            // The in-memory database outlives each test context.
+            jdbcTemplate.execute("DROP TABLE IF EXISTS softdelete_outbox");
+            jdbcTemplate.execute("DROP TABLE IF EXISTS test_entity_archive");
+            SoftDeleteProperties properties = new SoftDeleteProperties();
+            SoftDeleteOutbox outbox = new SoftDeleteOutbox(entityManagerFactory, properties);
+            AopTestUtils.<SoftDeleteRepositoryImpl<?, ?>>getUltimateTargetObject(repository).setOutbox(outbox);
+            relay = new SoftDeleteOutboxRelay(outbox, dataSource, transactionManager, null, properties.getOutbox());
+        }
+
+        @Test
+        @DisplayName("changes are recorded once per changed row and relayed in order")
+        void changes_areRelayedInOrder() {
+            repository.softDelete(alice);
+            repository.softDeleteAllById(List.of(alice.getId(), bob.getId(), charlie.getId()));
+            repository.restoreById(bob.getId());
+            repository.forceDeleteById(charlie.getId());
+
+            List<SoftDeleteEvent> relayed = new ArrayList<>();
+            assertEquals(5, relay.relay(relayed::addAll));
+
+            assertEquals(List.of(
+                    alice.getId() + " " + SoftDeleteEventType.SOFT_DELETED,
+                    bob.getId() + " " + SoftDeleteEventType.SOFT_DELETED,
+                    charlie.getId() + " " + SoftDeleteEventType.SOFT_DELETED,
+                    bob.getId() + " " + SoftDeleteEventType.RESTORED,
+                    charlie.getId() + " " + SoftDeleteEventType.FORCE_DELETED),
+                    relayed.stream().map(event -> event.entityId() + " " + event.type()).toList());
+            assertTrue(relayed.stream().allMatch(event -> event.entity().equals("TestEntity")));
+            assertEquals(0, relay.relay(relayed::addAll), "Relayed events are removed");
+        }
+
+        @Test
+        @DisplayName("restoring from the archive is recorded, archiving and purging are not")
+        void archiveAndPurge_recordOnlyRestores() {
+            repository.softDelete(alice);
+            repository.softDelete(bob);
+            repository.archiveTrashed(Instant.now().plusSeconds(1), null, 10);
+            repository.restoreFromArchive(alice.getId());
+            repository.softDelete(charlie);
+            repository.purgeTrashed(Instant.now().plusSeconds(1), null, 10);
+
+            List<SoftDeleteEvent> relayed = new ArrayList<>();
+            relay.relay(relayed::addAll);
+
+            assertEquals(List.of(
+                    alice.getId() + " " + SoftDeleteEventType.SOFT_DELETED,
+                    bob.getId() + " " + SoftDeleteEventType.SOFT_DELETED,
+                    alice.getId() + " " + SoftDeleteEventType.RESTORED,
+                    charlie.getId() + " " + SoftDeleteEventType.SOFT_DELETED),
+                    relayed.stream().map(event -> event.entityId() + " " + event.type()).toList());
+        }
+
+        @Test
+        @DisplayName("events roll back with the change, and a failed publish is retried")
+        void events_areTransactional() {
+            transactionTemplate.executeWithoutResult(status -> {
+                repository.softDeleteById(alice.getId());
+                status.setRollbackOnly();
+            });
+            repository.softDeleteById(bob.getId());
+
+            assertThrows(IllegalStateException.class, () -> relay.relay(events -> {
+                throw new IllegalStateException("broker down");
+            }));
+            List<SoftDeleteEvent> relayed = new ArrayList<>();
+            relay.relay(relayed::addAll);
+
+            assertEquals(List.of(String.valueOf(bob.getId())),
+                    relayed.stream().map(SoftDeleteEvent::entityId).toList());
+        }
+    }
+
+    // ── Cascade ──────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("@SoftDeleteCascade")
+    class CascadeTests {
+
+        private ParentEntity parent;
+        private ChildEntity first;
+        private ChildEntity reply;
+
+        @BeforeEach
+        void createGraph() {
+            parent = parentRepository.save(new ParentEntity("parent"));
+            first = childRepository.save(new ChildEntity("first", parent, null));
+            childRepository.save(new ChildEntity("second", parent, null));
+            reply = childRepository.save(new ChildEntity("reply", null, first));
+        }
+
+        @Test
+        @DisplayName("softDeleteById stamps every level with the parent's timestamp")
+        void softDeleteById_cascadesWithSameTimestamp() {
+            parentRepository.softDeleteById(parent.getId());
+
+            Instant deletedAt = parentRepository.findByIdWithTrashed(parent.getId()).orElseThrow().getDeletedAt();
+            List<ChildEntity> children = childRepository.findAllWithTrashed();
+            assertEquals(3, children.size());
+            assertTrue(children.stream().allMatch(child -> deletedAt.equals(child.getDeletedAt())),
+                    "Children and grandchildren share the parent's timestamp");
+        }
+
+        @Test
+        @DisplayName("restore revives only children deleted with the parent")
+        void restore_cascadesToChildrenDeletedTogether() {
+            childRepository.softDeleteById(reply.getId());
+            parentRepository.softDelete(parent);
+
+            parentRepository.restore(parent);
+
+            assertEquals(List.of("first", "second"),
+                    childRepository.findAll().stream().map(ChildEntity::getName).sorted().toList());
+            assertTrue(childRepository.isTrashed(reply.getId()), "Independently deleted reply stays trashed");
+        }
+
+        @Test
+        @DisplayName("restoreById cascades through every level")
+        void restoreById_cascades() {
+            parentRepository.softDeleteById(parent.getId());
+
+            assertTrue(parentRepository.restoreById(parent.getId()));
+
+            assertEquals(0, childRepository.countTrashed());
+        }
+
+        @Test
+        @DisplayName("deleteAll and softDeleteAllById cascade like the single-row paths")
+        void bulkSoftDelete_cascades() {
+            ParentEntity other = parentRepository.save(new ParentEntity("other"));
+            ChildEntity otherChild = childRepository.save(new ChildEntity("other child", other, null));
+
+            parentRepository.deleteAll(List.of(parent));
+            assertEquals(3, childRepository.countTrashed());
+
+            parentRepository.softDeleteAllById(List.of(other.getId()));
+            assertTrue(childRepository.isTrashed(otherChild.getId()));
+            assertEquals(0, childRepository.count());
+        }
+
+        @Test
+        @DisplayName("restoreAllById revives only children deleted with each parent")
+        void restoreAllById_cascades() {
+            childRepository.softDeleteById(reply.getId());
+            parentRepository.softDeleteAllById(List.of(parent.getId()));
+
+            assertEquals(1, parentRepository.restoreAllById(List.of(parent.getId())));
+
+            assertEquals(List.of("first", "second"),
+                    childRepository.findAll().stream().map(ChildEntity::getName).sorted().toList());
+            assertTrue(childRepository.isTrashed(reply.getId()), "Independently deleted reply stays trashed");
+        }
+    }
+
+    // ── Column Mapping ───────────────────────────────────────
+
+    @Nested
+    @DisplayName("@SoftDeleteColumn")
+    class ColumnMappingTests {
+
+        @Test
+        @DisplayName("maps the soft-delete column and filter to the custom column")
+        void customColumn_drivesSqlAndFilter() {
+            CustomColumnEntity kept = customColumnRepository.save(new CustomColumnEntity("kept"));
+            CustomColumnEntity removed = customColumnRepository.save(new CustomColumnEntity("removed"));
+
+            customColumnRepository.softDelete(removed);
+
+            assertEquals(1, jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM custom_col_entity WHERE removed_at IS NOT NULL", Integer.class));
+            assertEquals(List.of(kept.getId()),
+                    customColumnRepository.findAll().stream().map(CustomColumnEntity::getId).toList());
+            assertTrue(customColumnRepository.isTrashed(removed.getId()));
+        }
+
+        @Test
+        @DisplayName("registry resolves the effective column and filter condition")
+        void registry_resolvesMetadata() {
+            SoftDeleteRegistry registry = SoftDeleteRegistry.of(entityManagerFactory);
+
+            SoftDeleteMetadata custom = registry.get(CustomColumnEntity.class);
+            assertEquals("removed_at", custom.column());
+            assertEquals("removed_at IS NULL", custom.filterCondition());
+            assertEquals("custom_col_entity", custom.table());
+            assertEquals("deleted_at", registry.get(TestEntity.class).column());
+        }
+    }
+
+    // ── Index Advisor ────────────────────────────────────────
+
+    @Nested
+    @DisplayName("Index advisor")
+    class IndexAdvisorTests {
+
+        @Test
+        @DisplayName("reports a missing index with DDL that fixes it")
+        void reportsMissingIndex() {
+            SoftDeleteIndexAdvisor advisor = new SoftDeleteIndexAdvisor(entityManagerFactory, dataSource,
+                    new SoftDeleteProperties());
+
+            IndexAdvice advice = adviceFor(advisor, "TestEntity");
+            assertFalse(advice.indexed());
+            assertEquals("CREATE INDEX idx_test_entity_deleted_at_id ON test_entity (deleted_at, id)", advice.ddl());
+
+            jdbcTemplate.execute(advice.ddl());
+            assertTrue(adviceFor(advisor, "TestEntity").indexed());
+        }
+
+        @Test
+        @DisplayName("fails startup in fail mode")
+        void failsInFailMode() {
+            SoftDeleteProperties properties = new SoftDeleteProperties();
+            properties.getIndexAdvisor().setMode(SoftDeleteProperties.IndexAdvisor.Mode.FAIL);
+            SoftDeleteIndexAdvisor advisor = new SoftDeleteIndexAdvisor(entityManagerFactory, dataSource, properties);
+
+            IllegalStateException failure = assertThrows(IllegalStateException.class,
+                    advisor::afterSingletonsInstantiated);
+            assertTrue(failure.getMessage().contains("ON test_entity (deleted_at, id)"));
+        }
+
+        @Test
+        @DisplayName("generates partial indexes where the dialect supports them")
+        void generatesPartialIndexDdl() {
+            assertEquals("CREATE INDEX idx_posts_deleted_at_live ON posts (id) WHERE deleted_at IS NULL",
+                    SoftDeleteIndexDdl.createIndex(new PostgreSQLDialect(), "posts", "deleted_at", "id"));
+        }
+
+        private IndexAdvice adviceFor(SoftDeleteIndexAdvisor advisor, String entityName) {
+            return advisor.inspect().stream()
+                    .filter(advice -> advice.entityName().equals(entityName))
+                    .findFirst()
+                    .orElseThrow();
+        }
+    }
+
+    // ── Read replica ─────────────────────────────────────────
+
+    @Nested
+    @DisplayName("Read-replica routing")
+    class ReplicaTests {
+
+        private DriverManagerDataSource primary;
+        private DriverManagerDataSource replica;
+
+        @BeforeEach
+        void setUp() {
+            primary = database("softdelete-primary");
+            replica = database("softdelete-replica");
+        }
+
+        private DriverManagerDataSource database(String name) {
+            DriverManagerDataSource database =
+                    new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+            JdbcTemplate jdbc = new JdbcTemplate(database);
+            jdbc.execute("CREATE TABLE IF NOT EXISTS origin (name VARCHAR(20))");
+            jdbc.update("DELETE FROM origin");
+            jdbc.update("INSERT INTO origin (name) VALUES (?)", name);
+            return database;
+        }
+
+        private String origin(DataSource routed, boolean readOnly, boolean scoped) {
+            TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(routed));
+            transaction.setReadOnly(readOnly);
+            JdbcTemplate jdbc = new JdbcTemplate(routed);
+            Supplier<String> read = () -> transaction.execute(
+                    status -> jdbc.queryForObject("SELECT name FROM origin", String.class));
+            return scoped ? ReplicaReadScope.call(read) : read.get();
+        }
+
+        @Test
+        @DisplayName("read-only scopes go to the replica, everything else to the primary")
+        void routesReadOnlyScopes() {
+            DataSource routed = SoftDeleteRoutingDataSource.wrap(primary,
+                    new SoftDeleteReplicaMonitor(replica, Duration.ofSeconds(5), null, Duration.ofSeconds(1)));
+
+            assertEquals("softdelete-replica", origin(routed, true, true));
+            assertEquals("softdelete-primary", origin(routed, false, true));
+            assertEquals("softdelete-primary", origin(routed, true, false));
+        }
+
+        @Test
+        @DisplayName("reads fall back to the primary while the replica lags too far or cannot be checked")
+        void fallsBackWhenLagging() {
+            SoftDeleteReplicaMonitor lagging =
+                    new SoftDeleteReplicaMonitor(replica, Duration.ofSeconds(5), "SELECT 30", Duration.ofSeconds(1));
+            DataSource routed = SoftDeleteRoutingDataSource.wrap(primary, lagging);
+            assertEquals("softdelete-primary", origin(routed, true, true), "Unchecked replica must not be used");
+
+            lagging.check();
+            assertEquals(Duration.ofSeconds(30), lagging.getLag());
+            assertEquals("softdelete-primary", origin(routed, true, true));
+
+            SoftDeleteReplicaMonitor current =
+                    new SoftDeleteReplicaMonitor(replica, Duration.ofSeconds(5), "SELECT 0.5", Duration.ofSeconds(1));
+            current.check();
+            assertEquals("softdelete-replica", origin(SoftDeleteRoutingDataSource.wrap(primary, current), true, true));
+
+            SoftDeleteReplicaMonitor failing = new SoftDeleteReplicaMonitor(replica, Duration.ofSeconds(5),
+                    "SELECT lag FROM missing_table", Duration.ofSeconds(1));
+            failing.check();
+            assertFalse(failing.isUsable());
+        }
+
+        @Test
+        @DisplayName("a read right after softDeleteById may be stale; inside the writing transaction it is not")
+        void readYourWrites() {
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TestApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .properties(
+                            "spring.datasource.url=jdbc:h2:mem:softdelete-rw-primary;DB_CLOSE_DELAY=-1",
+                            "softdelete.replica.enabled=true",
+                            "softdelete.replica.url=jdbc:h2:mem:softdelete-rw-replica;DB_CLOSE_DELAY=-1",
+                            "softdelete.replica.username=sa")
+                    .run()) {
+                // The replica has the schema but has not replayed any row yet.
+                JdbcTemplate replicaJdbc = new JdbcTemplate(context.getBean(SoftDeleteReplicaMonitor.class).getReplica());
+                replicaJdbc.execute("DROP ALL OBJECTS");
+                new JdbcTemplate(context.getBean(DataSource.class)).queryForList("SCRIPT NODATA", String.class)
+                        .stream()
+                        .filter(statement -> !statement.startsWith("--") && !statement.startsWith("CREATE USER"))
+                        .forEach(replicaJdbc::execute);
+                TestEntityRepository routed = context.getBean(TestEntityRepository.class);
+                TransactionTemplate transaction = context.getBean(TransactionTemplate.class);
+                Long first = routed.save(new TestEntity("First")).getId();
+                Long second = routed.save(new TestEntity("Second")).getId();
+
+                routed.softDeleteById(first);
+                assertFalse(routed.isTrashed(first), "Read-only scopes see the replica, up to max-lag behind");
+
+                assertEquals(Boolean.TRUE, transaction.execute(status -> {
+                    routed.softDeleteById(second);
+                    return routed.isTrashed(second);
+                }));
+            }
+        }
+
+        @Test
+        @DisplayName("repository proxies open a scope only for soft-delete methods")
+        void interceptorScopesRepositoryMethods() throws Throwable {
+            ProxyFactory proxyFactory = new ProxyFactory(new SoftDeleteRepositoryImpl<>(
+                    JpaEntityInformationSupport.getEntityInformation(TestEntity.class, entityManager),
+                    entityManager, new SoftDeleteProperties()) {
+                @Override
+                public long countTrashed() {
+                    return ReplicaReadScope.isActive() ? 1 : 0;
+                }
+            });
+            proxyFactory.addInterface(SoftDeleteRepository.class);
+            proxyFactory.addAdvice(new ReplicaReadScope());
+            SoftDeleteRepository<?, ?> proxy = (SoftDeleteRepository<?, ?>) proxyFactory.getProxy();
+
+            assertEquals(1, proxy.countTrashed());
+            assertFalse(ReplicaReadScope.isActive());
+        }
+    }
+
+    // ── Metrics ──────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("Metrics")
+    class MetricsTests {
+
+        @Test
+        @DisplayName("times repository operations per entity and outcome")
+        void timesRepositoryOperations() {
+            repository.softDeleteById(alice.getId());
+            repository.softDeleteById(bob.getId());
+
+            Timer timer = meterRegistry.find(MicrometerSoftDeleteInstrumentation.OPERATIONS_METRIC)
+                    .tags("entity", "TestEntity", "operation", "softDeleteById", "outcome", "success")
+                    .timer();
+            assertNotNull(timer);
+            assertEquals(2, timer.count());
+        }
+
+        @Test
+        @DisplayName("counts filter toggles made by the repository")
+        void countsFilterToggles() {
+            double before = toggles("repository", "enabled");
+
+            repository.findAll();
+
+            assertEquals(before + 1, toggles("repository", "enabled"));
+        }
+
+        @Test
+        @DisplayName("trashed gauges report the soft-deleted row count")
+        void trashedGaugesReportCount() {
+            repository.softDelete(alice);
+            SoftDeleteTrashedGauges gauges =
+                    new SoftDeleteTrashedGauges(applicationContext, meterRegistry, Duration.ofHours(1));
+            gauges.start();
+            try {
+                gauges.refresh();
+                assertEquals(1.0, meterRegistry.get(SoftDeleteTrashedGauges.TRASHED_METRIC)
+                        .tag("entity", "TestEntity").gauge().value());
+            } finally {
+                gauges.stop();
+            }
+        }
+
+        @Test
+        @DisplayName("trashed gauges stay idle without a meter registry")
+        void trashedGaugesWithoutRegistry() {
+            SoftDeleteTrashedGauges gauges = new SoftDeleteTrashedGauges(applicationContext, null, Duration.ofHours(1));
+
+            gauges.start();
+
+            assertFalse(gauges.isRunning());
+            gauges.refresh();
+        }
+
+        private double toggles(String source, String state) {
+            var counter = meterRegistry.find(MicrometerSoftDeleteInstrumentation.FILTER_TOGGLES_METRIC)
+                    .tags("source", source, "state", state)
+                    .counter();
+            return counter == null ? 0 : counter.count();
+        }
+    }
+
+    // ── isDeleted helper ─────────────────────────────────────
+
+    @Test
+    @DisplayName("isDeleted returns correct state")
+    void isDeleted_returnsCorrectState() {
+        assertFalse(alice.isDeleted());
+        repository.softDelete(alice);
+        assertTrue(alice.isDeleted());
+        repository.restore(alice);
+        assertFalse(alice.isDeleted());
+    }
+
+    /**
+     * A plain Spring Data repository, as created by a factory bean other than
+     * {@link SoftDeleteRepositoryFactoryBean}. Nested, so repository scanning
+     * skips it.
+     */
+    interface PlainTestEntityRepository extends JpaRepository<TestEntity, Long> {
+
+        List<TestEntity> findByName(String name);
     }
 }
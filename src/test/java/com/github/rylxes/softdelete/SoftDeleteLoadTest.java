@@ -0,0 +1,277 @@
+package com.github.rylxes.softdelete;
+
+import com.github.rylxes.softdelete.config.SoftDeleteAutoConfiguration;
+import com.github.rylxes.softdelete.config.SoftDeleteTaskExecutors;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Load and soak harness: runs a weighted mix of repository operations from
+ * many threads against H2 for a set duration, then reports throughput,
+ * p50/p99 latency, lost races and invariant violations per operation.
+ * <p>
+ * Skipped unless a duration is given:
+ *
+ * <pre>
+ * ./mvnw test -Dtest=SoftDeleteLoadTest -Dsoftdelete.load.duration=60s \
+ *     -Dsoftdelete.load.threads=32 -Dsoftdelete.load.virtual-threads=true \
+ *     -Dsoftdelete.load.mix=findAll=30,findById=50,softDeleteById=8,restoreById=8,forceDeleteById=4
+ * </pre>
+ *
+ * Invariants checked: filtered reads never return a trashed entity, no
+ * operation fails other than by losing a race for its row (optimistic-lock
+ * or missing-row failures, reported as races), and once the run is over
+ * the repository's counts (including the counter cache) match the table.
+ */
+@SpringBootTest(classes = TestApplication.class)
+@Import(SoftDeleteAutoConfiguration.class)
+@DirtiesContext
+@EnabledIfSystemProperty(named = "softdelete.load.duration", matches = ".+")
+class SoftDeleteLoadTest {
+
+    private static final Log logger = LogFactory.getLog(SoftDeleteLoadTest.class);
+
+    private static final int PAGE_SIZE = 20;
+    private static final int MAX_REPORTED_VIOLATIONS = 20;
+
+    @Autowired
+    private TestEntityRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final AtomicLong violations = new AtomicLong();
+    private final Queue<String> violationSamples = new ConcurrentLinkedQueue<>();
+
+    @Test
+    void soak() throws InterruptedException {
+        Duration duration = DurationStyle.detectAndParse(System.getProperty("softdelete.load.duration"));
+        int threads = Integer.getInteger("softdelete.load.threads", 16);
+        int rows = Integer.getInteger("softdelete.load.rows", 1000);
+        boolean virtualThreads = Boolean.getBoolean("softdelete.load.virtual-threads")
+                && SoftDeleteTaskExecutors.isVirtualThreadsSupported();
+        Map<Operation, Integer> mix = Operation.parseMix(System.getProperty("softdelete.load.mix",
+                "findAll=30,findById=50,softDeleteById=8,restoreById=8,forceDeleteById=4"));
+
+        repository.deleteAll();
+        AtomicLongArray ids = seed(rows);
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Map<Operation, Timer> timers = new EnumMap<>(Operation.class);
+        Map<Operation, AtomicLong> races = new EnumMap<>(Operation.class);
+        for (Operation operation : mix.keySet()) {
+            timers.put(operation, Timer.builder("softdelete.load")
+                    .tag("operation", operation.label)
+                    .publishPercentiles(0.5, 0.99)
+                    .distributionStatisticExpiry(duration.multipliedBy(2))
+                    .distributionStatisticBufferLength(1)
+                    .register(registry));
+            races.put(operation, new AtomicLong());
+        }
+        Operation[] weighted = mix.entrySet().stream()
+                .flatMap(entry -> Collections.nCopies(entry.getValue(), entry.getKey()).stream())
+                .toArray(Operation[]::new);
+
+        long deadline = System.nanoTime() + duration.toNanos();
+        CountDownLatch done = new CountDownLatch(threads);
+        SimpleAsyncTaskExecutor executor = SoftDeleteTaskExecutors.create("softdelete-load-", virtualThreads);
+        try {
+            for (int i = 0; i < threads; i++) {
+                executor.execute(() -> {
+                    try {
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+                        while (System.nanoTime() < deadline) {
+                            Operation operation = weighted[random.nextInt(weighted.length)];
+                            int slot = random.nextInt(ids.length());
+                            long start = System.nanoTime();
+                            try {
+                                run(operation, ids, slot, rows);
+                            } catch (OptimisticLockingFailureException | EmptyResultDataAccessException e) {
+                                // Lost a race for the row, e.g. two threads force-deleting it.
+                                races.get(operation).incrementAndGet();
+                            } catch (RuntimeException e) {
+                                violation(operation.label + " failed unexpectedly: " + e);
+                            }
+                            timers.get(operation).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        }
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+        } finally {
+            executor.close();
+        }
+
+        checkCounts();
+        report(duration, threads, virtualThreads, rows, timers, races);
+        assertEquals(0, violations.get(), "Invariant violations: " + violationSamples);
+    }
+
+    private AtomicLongArray seed(int rows) {
+        List<Object[]> names = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            names.add(new Object[] { "row-" + i });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO test_entity (name) VALUES (?)", names);
+        List<Long> seeded = jdbcTemplate.queryForList("SELECT id FROM test_entity ORDER BY id", Long.class);
+        AtomicLongArray ids = new AtomicLongArray(seeded.size());
+        for (int i = 0; i < seeded.size(); i++) {
+            ids.set(i, seeded.get(i));
+        }
+        return ids;
+    }
+
+    private void run(Operation operation, AtomicLongArray ids, int slot, int rows) {
+        long id = ids.get(slot);
+        switch (operation) {
+            case FIND_ALL -> {
+                int page = ThreadLocalRandom.current().nextInt(Math.max(1, rows / PAGE_SIZE));
+                repository.findAll(PageRequest.of(page, PAGE_SIZE)).forEach(entity -> {
+                    if (entity.isDeleted()) {
+                        violation("findAll(Pageable) returned trashed row " + entity.getId());
+                    }
+                });
+            }
+            case FIND_BY_ID -> repository.findById(id).ifPresent(entity -> {
+                if (entity.isDeleted()) {
+                    violation("findById returned trashed row " + id);
+                }
+            });
+            case SOFT_DELETE_BY_ID -> repository.softDeleteById(id);
+            case RESTORE_BY_ID -> repository.restoreById(id);
+            case FORCE_DELETE_BY_ID -> {
+                repository.forceDeleteById(id);
+                // Keep the population steady; a losing racer's replacement
+                // simply stays out of the pool.
+                ids.compareAndSet(slot, id, repository.save(new TestEntity("replacement")).getId());
+            }
+        }
+    }
+
+    private void checkCounts() {
+        long live = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM test_entity WHERE deleted_at IS NULL", Long.class);
+        long trashed = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM test_entity WHERE deleted_at IS NOT NULL", Long.class);
+        SoftDeleteStats expected = new SoftDeleteStats(live, trashed);
+
+        if (!expected.equals(repository.stats())) {
+            violation("stats() drifted: " + repository.stats() + ", table has " + expected);
+        }
+        if (repository.count() != live || repository.countTrashed() != trashed
+                || repository.countWithTrashed() != live + trashed) {
+            violation("counts drifted: count=" + repository.count() + ", countTrashed="
+                    + repository.countTrashed() + ", countWithTrashed=" + repository.countWithTrashed()
+                    + ", table has " + expected);
+        }
+        if (repository.findAll().stream().anyMatch(SoftDeletable::isDeleted)) {
+            violation("findAll() returned trashed rows after the run");
+        }
+    }
+
+    private void violation(String message) {
+        if (violations.incrementAndGet() <= MAX_REPORTED_VIOLATIONS) {
+            violationSamples.add(message);
+        }
+    }
+
+    private void report(Duration duration, int threads, boolean virtualThreads, int rows,
+            Map<Operation, Timer> timers, Map<Operation, AtomicLong> races) {
+        double seconds = duration.toNanos() / 1e9;
+        StringBuilder report = new StringBuilder(String.format(Locale.ROOT,
+                "%nSoft-delete load: %d %s threads, %s, %d rows%n%-20s %10s %10s %9s %9s %8s%n",
+                threads, virtualThreads ? "virtual" : "platform", duration, rows,
+                "operation", "ops", "ops/s", "p50 ms", "p99 ms", "races"));
+        long total = 0;
+        for (Map.Entry<Operation, Timer> entry : timers.entrySet()) {
+            Timer timer = entry.getValue();
+            ValueAtPercentile[] percentiles = timer.takeSnapshot().percentileValues();
+            report.append(String.format(Locale.ROOT, "%-20s %10d %10.0f %9.3f %9.3f %8d%n",
+                    entry.getKey().label, timer.count(), timer.count() / seconds,
+                    percentiles[0].value(TimeUnit.MILLISECONDS), percentiles[1].value(TimeUnit.MILLISECONDS),
+                    races.get(entry.getKey()).get()));
+            total += timer.count();
+        }
+        report.append(String.format(Locale.ROOT, "%-20s %10d %10.0f%ninvariant violations: %d%n",
+                "total", total, total / seconds, violations.get()));
+        violationSamples.forEach(sample -> report.append("  ").append(sample).append('\n'));
+        logger.info(report);
+    }
+
+    enum Operation {
+
+        FIND_ALL("findAll"),
+        FIND_BY_ID("findById"),
+        SOFT_DELETE_BY_ID("softDeleteById"),
+        RESTORE_BY_ID("restoreById"),
+        FORCE_DELETE_BY_ID("forceDeleteById");
+
+        private final String label;
+
+        Operation(String label) {
+            this.label = label;
+        }
+
+        /**
+         * Parse {@code name=weight} pairs, e.g.
+         * {@code findAll=30,findById=70}.
+         */
+        static Map<Operation, Integer> parseMix(String mix) {
+            Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+            for (String pair : mix.split(",")) {
+                String[] parts = pair.trim().split("=");
+                Operation operation = null;
+                for (Operation candidate : values()) {
+                    if (candidate.label.equals(parts[0].trim())) {
+                        operation = candidate;
+                    }
+                }
+                if (operation == null || parts.length != 2) {
+                    throw new IllegalArgumentException("Unknown operation in softdelete.load.mix: " + pair);
+                }
+                int weight = Integer.parseInt(parts[1].trim());
+                if (weight > 0) {
+                    weights.put(operation, weight);
+                }
+            }
+            if (weights.isEmpty()) {
+                throw new IllegalArgumentException("softdelete.load.mix has no operations");
+            }
+            return weights;
+        }
+    }
+}
@@ -1,16 +1,25 @@
 package com.github.rylxes.softdelete;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.context.annotation.Bean;
 
 /**
  * Minimal Spring Boot application for integration tests.
- * Demonstrates how a consumer configures the factory bean.
+ * Repositories are registered by the auto-configuration, as in a consumer
+ * application; the meter registry stands in for the one Spring Boot
+ * Actuator would provide.
  */
 @SpringBootApplication
-@EnableJpaRepositories(basePackages = "com.github.rylxes.softdelete", repositoryFactoryBeanClass = SoftDeleteRepositoryFactoryBean.class)
 public class TestApplication {
+
+    @Bean
+    MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+
     public static void main(String[] args) {
         SpringApplication.run(TestApplication.class, args);
     }
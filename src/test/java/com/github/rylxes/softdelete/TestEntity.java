@@ -1,5 +1,6 @@
 package com.github.rylxes.softdelete;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -7,6 +8,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 
 @Entity
+@Cacheable
 @Table(name = "test_entity")
 public class TestEntity extends SoftDeletableEntity {
 
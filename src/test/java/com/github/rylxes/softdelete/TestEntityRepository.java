@@ -1,4 +1,8 @@
 package com.github.rylxes.softdelete;
 
+import java.util.List;
+
 public interface TestEntityRepository extends SoftDeleteRepository<TestEntity, Long> {
+
+    List<TestEntity> findByName(String name);
 }
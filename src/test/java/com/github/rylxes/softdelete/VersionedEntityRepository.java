@@ -0,0 +1,4 @@
+package com.github.rylxes.softdelete;
+
+public interface VersionedEntityRepository extends SoftDeleteRepository<VersionedEntity, Long> {
+}